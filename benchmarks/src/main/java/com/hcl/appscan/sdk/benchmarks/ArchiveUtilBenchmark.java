@@ -0,0 +1,96 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hcl.appscan.sdk.utils.ArchiveUtil;
+
+/**
+ * Measures zipping a source tree and unzipping the result with {@link ArchiveUtil}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArchiveUtilBenchmark {
+
+	/** The number of files in the tree. */
+	@Param({"100", "2000"})
+	public int files;
+
+	/** The size in KB of each file. */
+	@Param({"16"})
+	public int fileSizeKB;
+
+	private File m_root;
+	private File m_source;
+	private File m_zip;
+	private File m_output;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		m_root = Files.createTempDirectory("benchmark").toFile(); //$NON-NLS-1$
+		m_source = new File(m_root, "source"); //$NON-NLS-1$
+		Random random = new Random(0);
+		byte[] content = new byte[fileSizeKB * 1024];
+		for(int i = 0; i < files; i++) {
+			// Half random and half repeated content, so the data compresses like source code would.
+			random.nextBytes(content);
+			for(int j = content.length / 2; j < content.length; j++)
+				content[j] = (byte) ('a' + j % 26);
+			File file = new File(m_source, "pkg" + (i % 20) + File.separator + "File" + i + ".java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			file.getParentFile().mkdirs();
+			try (OutputStream out = new FileOutputStream(file)) {
+				out.write(content);
+			}
+		}
+		m_zip = new File(m_root, "source.zip"); //$NON-NLS-1$
+		ArchiveUtil.zipFileOrFolder(m_source, m_zip);
+		m_output = new File(m_root, "output"); //$NON-NLS-1$
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(m_root);
+	}
+
+	@Benchmark
+	public long zipFileOrFolder() throws IOException {
+		File zip = new File(m_root, "benchmark.zip"); //$NON-NLS-1$
+		ArchiveUtil.zipFileOrFolder(m_source, zip);
+		return zip.length();
+	}
+
+	@Benchmark
+	public File unzip() throws IOException {
+		ArchiveUtil.unzip(m_zip, m_output);
+		return m_output;
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hcl.appscan.sdk.http.HttpClient;
+import com.hcl.appscan.sdk.http.HttpPart;
+import com.hcl.appscan.sdk.http.HttpResponse;
+import com.hcl.appscan.sdk.http.IHttpProgress;
+
+/**
+ * Measures request and response handling of {@link HttpClient} against a local server, including multipart uploads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpClientBenchmark {
+
+	/** The size in KB of the file uploaded by {@link #postMultipart()}. */
+	@Param({"64", "4096"})
+	public int uploadSizeKB;
+
+	private LocalHttpServer m_server;
+	private HttpClient m_client;
+	private File m_upload;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		m_server = new LocalHttpServer(LocalHttpServer.createItems(10));
+		m_client = new HttpClient(SILENT_PROGRESS, Proxy.NO_PROXY, false);
+		m_upload = File.createTempFile("benchmark", ".irx"); //$NON-NLS-1$ //$NON-NLS-2$
+		try (RandomAccessFile file = new RandomAccessFile(m_upload, "rw")) { //$NON-NLS-1$
+			file.setLength(uploadSizeKB * 1024L);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		m_server.stop();
+		m_upload.delete();
+	}
+
+	@Benchmark
+	public String get() throws IOException {
+		HttpResponse response = m_client.get(m_server.getUrl("/json"), new HashMap<String, String>(), null); //$NON-NLS-1$
+		return response.getResponseBodyAsString();
+	}
+
+	@Benchmark
+	public String post() throws IOException {
+		HttpResponse response = m_client.post(m_server.getUrl("/json"), new HashMap<String, String>(), "{\"Name\":\"benchmark\"}"); //$NON-NLS-1$ //$NON-NLS-2$
+		return response.getResponseBodyAsString();
+	}
+
+	@Benchmark
+	public String postMultipart() throws IOException {
+		List<HttpPart> parts = new ArrayList<HttpPart>();
+		parts.add(new HttpPart("uploadedFile", m_upload, "multipart/form-data")); //$NON-NLS-1$ //$NON-NLS-2$
+		HttpResponse response = m_client.postMultipart(m_server.getUrl("/upload"), new HashMap<String, String>(), parts); //$NON-NLS-1$
+		return response.getResponseBodyAsString();
+	}
+
+	private static final IHttpProgress SILENT_PROGRESS = new IHttpProgress() {
+		@Override
+		public void setProgress(int percentage) {
+		}
+
+		@Override
+		public void resetProgress() {
+		}
+
+		@Override
+		public void endProgress() {
+		}
+	};
+}
@@ -0,0 +1,77 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.benchmarks;
+
+import java.io.IOException;
+import java.net.Proxy;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONArtifact;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hcl.appscan.sdk.http.HttpClient;
+import com.hcl.appscan.sdk.http.HttpResponse;
+
+/**
+ * Measures parsing of JSON response bodies, comparing full parsing with streaming the items of the body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpResponseBenchmark {
+
+	/** The number of items in the response body. */
+	@Param({"100", "10000"})
+	public int items;
+
+	private LocalHttpServer m_server;
+	private HttpClient m_client;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		m_server = new LocalHttpServer(LocalHttpServer.createItems(items));
+		m_client = new HttpClient(Proxy.NO_PROXY);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		m_server.stop();
+	}
+
+	@Benchmark
+	public JSONArtifact getResponseBodyAsJSON() throws IOException, JSONException {
+		HttpResponse response = m_client.get(m_server.getUrl("/json"), new HashMap<String, String>(), null); //$NON-NLS-1$
+		JSONObject body = (JSONObject) response.getResponseBodyAsJSON();
+		return (JSONArray) body.get("Items"); //$NON-NLS-1$
+	}
+
+	@Benchmark
+	public JSONArray getResponseBodyAsJSONItems() throws IOException, JSONException {
+		HttpResponse response = m_client.get(m_server.getUrl("/json"), new HashMap<String, String>(), null); //$NON-NLS-1$
+		final JSONArray items = new JSONArray();
+		response.getResponseBodyAsJSONItems("Items", item -> items.add(item)); //$NON-NLS-1$
+		return items;
+	}
+}
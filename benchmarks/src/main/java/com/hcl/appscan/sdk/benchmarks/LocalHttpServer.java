@@ -0,0 +1,82 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An in-process HTTP server that stands in for the service. Requests to /json are answered with a fixed JSON body
+ * and requests to /upload have their body discarded.
+ */
+class LocalHttpServer {
+
+	private final HttpServer m_server;
+	private final ExecutorService m_executor;
+
+	LocalHttpServer(final byte[] json) throws IOException {
+		m_server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		m_executor = Executors.newFixedThreadPool(4);
+		m_server.setExecutor(m_executor);
+		m_server.createContext("/json", exchange -> { //$NON-NLS-1$
+			drain(exchange.getRequestBody());
+			exchange.getResponseHeaders().add("Content-Type", "application/json"); //$NON-NLS-1$ //$NON-NLS-2$
+			exchange.sendResponseHeaders(200, json.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(json);
+			}
+		});
+		m_server.createContext("/upload", exchange -> { //$NON-NLS-1$
+			drain(exchange.getRequestBody());
+			byte[] body = "{\"FileId\":\"00000000-0000-0000-0000-000000000000\"}".getBytes("UTF-8"); //$NON-NLS-1$ //$NON-NLS-2$
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		m_server.start();
+	}
+
+	String getUrl(String path) {
+		return "http://localhost:" + m_server.getAddress().getPort() + path; //$NON-NLS-1$
+	}
+
+	void stop() {
+		m_server.stop(0);
+		m_executor.shutdownNow();
+	}
+
+	/*
+	 * Creates a response body in the shape of an issue list with the given number of items.
+	 */
+	static byte[] createItems(int count) throws IOException {
+		StringBuilder builder = new StringBuilder("{\"Items\":["); //$NON-NLS-1$
+		for(int i = 0; i < count; i++) {
+			if(i > 0)
+				builder.append(',');
+			builder.append("{\"Id\":\"").append(i).append("\",\"Severity\":\"High\",\"IssueType\":\"Cross-Site Scripting\",") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\"Location\":\"src/main/java/com/example/Controller").append(i).append(".java:42\",") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\"Status\":\"Open\",\"DateCreated\":\"2026-01-01T00:00:00Z\"}"); //$NON-NLS-1$
+		}
+		builder.append("],\"Count\":").append(count).append('}'); //$NON-NLS-1$
+		return builder.toString().getBytes("UTF-8"); //$NON-NLS-1$
+	}
+
+	private static void drain(InputStream in) throws IOException {
+		byte[] buffer = new byte[64 * 1024];
+		while(in.read(buffer) != -1) {
+			// Discard.
+		}
+		in.close();
+	}
+}
@@ -0,0 +1,47 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hcl.appscan.sdk.utils.FileUtil;
+import com.hcl.appscan.sdk.utils.ServiceUtil;
+
+/**
+ * Measures the string utilities used when naming scans and checking for client updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+	private String m_filename = "My Application (Release 2.0) - build #1234 [main].irx"; //$NON-NLS-1$
+	private String m_baseVersion = "8.0.1588"; //$NON-NLS-1$
+	private String m_newVersion = "8.0.1602"; //$NON-NLS-1$
+
+	@Benchmark
+	public String getValidFilename() {
+		return FileUtil.getValidFilename(m_filename);
+	}
+
+	@Benchmark
+	public boolean compareVersions() {
+		return ServiceUtil.compareVersions(m_baseVersion, m_newVersion);
+	}
+}
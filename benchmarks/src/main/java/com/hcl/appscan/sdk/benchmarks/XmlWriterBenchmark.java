@@ -0,0 +1,84 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.TransformerException;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hcl.appscan.sdk.scanners.sast.targets.GenericTarget;
+import com.hcl.appscan.sdk.scanners.sast.targets.ISASTTarget;
+import com.hcl.appscan.sdk.scanners.sast.xml.XmlWriter;
+
+/**
+ * Measures generation of the scan configuration file with {@link XmlWriter}, built as a DOM document or streamed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlWriterBenchmark {
+
+	/** The number of targets in the configuration. */
+	@Param({"1", "100", "5000"})
+	public int targets;
+
+	/** True to stream the configuration with StAXWriter, false to build it with DOMWriter. */
+	@Param({"false", "true"})
+	public boolean streaming;
+
+	private File m_directory;
+	private List<ISASTTarget> m_targets;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		m_directory = Files.createTempDirectory("benchmark").toFile(); //$NON-NLS-1$
+		m_targets = new ArrayList<ISASTTarget>();
+		for(int i = 0; i < targets; i++) {
+			GenericTarget target = new GenericTarget(new File(m_directory, "target" + i).getAbsolutePath()); //$NON-NLS-1$
+			target.getProperties().put("buildInfo", "value" + i); //$NON-NLS-1$ //$NON-NLS-2$
+			target.getInclusionPatterns().add("**/*.java"); //$NON-NLS-1$
+			target.getExclusionPatterns().add("**/test/**"); //$NON-NLS-1$
+			m_targets.add(target);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(m_directory);
+	}
+
+	@Benchmark
+	public String writeConfig() throws IOException, TransformerException {
+		XmlWriter writer = new XmlWriter(false, streaming);
+		writer.initWriters(m_directory);
+		writer.visit(m_targets, false, false, false, false, false, false, false);
+		writer.write();
+		return writer.getOutputLocation();
+	}
+}
@@ -51,6 +51,7 @@ public interface CoreConstants {
 	String KEY_SECRET					= "KeySecret";											//$NON-NLS-1$
 	String PASSWORD						= "Password";											//$NON-NLS-1$
 	String TOKEN						= "Token";												//$NON-NLS-1$
+	String EXPIRE						= "Expire";												//$NON-NLS-1$
 	String USERNAME						= "Username";											//$NON-NLS-1$
 
 	String CHARSET 						= "charset"; 											//$NON-NLS-1$
@@ -97,6 +98,11 @@ public interface CoreConstants {
 	String DEFAULT_RESULT_NAME			= "asoc_results";										//$NON-NLS-1$
 	String SACLIENT_INSTALL_DIR			= "SAClientInstall";									//$NON-NLS-1$
 	String SKIP_UPDATE					= "skipUpdate";											//$NON-NLS-1$
+	String STREAMING_UPLOAD				= "streamingUpload";									//$NON-NLS-1$
+	String REPORT_TIMEOUT				= "reportTimeout";										//$NON-NLS-1$
+	String STREAMING_CONFIG				= "streamingConfig";									//$NON-NLS-1$
+	String IRX_CACHE					= "irxCache";											//$NON-NLS-1$
+	String FILTER_UPLOAD				= "filterUpload";										//$NON-NLS-1$
 
 	String RUNNING						= "Running";											//$NON-NLS-1$
 	String WAITING_TO_RUN				= "Waiting to Run";										//$NON-NLS-1$
@@ -132,6 +138,7 @@ public interface CoreConstants {
 	String EXECUTING_SCAN				= "message.running.scan";								//$NON-NLS-1$
 	String UPLOADING_FILE				= "message.uploading.file";								//$NON-NLS-1$
 	String SUSPEND_JOB_BYUSER		    = "message.suspend.job.byuser";                         //$NON-NLS-1$
+	String OUTPUT_LINES_DROPPED			= "message.output.dropped";								//$NON-NLS-1$
 
 	String REGIONS						= "Regions";											//$NON-NLS-1$
 	String DEFAULT_REGION				= "DefaultRegion";										//$NON-NLS-1$
@@ -156,6 +163,8 @@ public interface CoreConstants {
 	String FORMAT_PARAMS				= "FormatParams";								        //$NON-NLS-1$
 	String ERROR_GETTING_SCANLOG		= "error.getting.scanlog";								//$NON-NLS-1$
 	String ERROR_CANCEL_RESCAN  		= "error.cancel.rescan";								//$NON-NLS-1$
+	String ERROR_CANCELLED				= "error.cancelled";									//$NON-NLS-1$
+	String ERROR_TIMED_OUT				= "error.timed.out";									//$NON-NLS-1$
 	// ASE Status Messages
 	String CREATING_JOB                 = "message.creating.job";                               //$NON-NLS-1$
 	String CREATE_JOB_SUCCESS			= "message.created.job";								//$NON-NLS-1$
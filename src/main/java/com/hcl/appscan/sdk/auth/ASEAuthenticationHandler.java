@@ -1,5 +1,5 @@
 /**
- * © Copyright HCL Technologies Ltd. 2019,2020.
+ * © Copyright HCL Technologies Ltd. 2019, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -75,10 +75,15 @@ public class ASEAuthenticationHandler implements CoreConstants{
     }
 	
 	public boolean isTokenExpired() {
+		String server = m_authProvider.getServer();
+		Map<String, String> authHeaders = m_authProvider.getAuthorizationHeader(false);
+		if(TokenCache.getDefault().isValid(server, authHeaders))
+			return false;
+
 		boolean isExpired;
-		String request_url = m_authProvider.getServer() + ASE_CURRENTUSER_V2;
+		String request_url = server + ASE_CURRENTUSER_V2;
 		
-		Map<String, String> headers = m_authProvider.getAuthorizationHeader(false);
+		Map<String, String> headers = new HashMap<String, String>(authHeaders);
 		headers.put("Accept", "application/json"); //$NON-NLS-1$ //$NON-NLS-2$
 		headers.put(CHARSET, UTF8);
 		headers.put("Accept", "application/json"); //$NON-NLS-1$ //$NON-NLS-2$
@@ -91,6 +96,11 @@ public class ASEAuthenticationHandler implements CoreConstants{
 		} catch (IOException e) {
 			isExpired = true;
 		}
+
+		if(isExpired)
+			TokenCache.getDefault().invalidate(server, authHeaders);
+		else
+			TokenCache.getDefault().validated(server, authHeaders);
 		return isExpired;
 	}
 }
\ No newline at end of file
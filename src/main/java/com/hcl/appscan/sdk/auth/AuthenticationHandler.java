@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2024.
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -24,6 +24,8 @@ import com.hcl.appscan.sdk.http.HttpResponse;
 public class AuthenticationHandler implements CoreConstants {
 
 	private IAuthenticationProvider m_authProvider;
+	// Repeats the last login. The shared TokenCache only holds it weakly, so the credentials live as long as this handler.
+	private Runnable m_refresher;
 	
 	public AuthenticationHandler(IAuthenticationProvider provider) {
 		m_authProvider = provider;
@@ -67,7 +69,7 @@ public class AuthenticationHandler implements CoreConstants {
 	 * @throws IOException If an error occurs.
 	 * @throws JSONException If an error occurs.
 	 */
-	public boolean login(String username, String password, boolean persist, LoginType type, String clientType) throws IOException, JSONException {
+	public boolean login(final String username, final String password, final boolean persist, final LoginType type, final String clientType) throws IOException, JSONException {
 		
 		Map<String, String> headers = new HashMap<String, String>();
 		headers.put(CONTENT_TYPE, "application/json"); //$NON-NLS-1$
@@ -81,9 +83,9 @@ public class AuthenticationHandler implements CoreConstants {
 			params.put(KEY_SECRET, password);
 			if(clientType != null) {
 				//Only allow letters, numbers, -, _, and . characters.
-				clientType = clientType.replaceAll("[^a-zA-Z0-9\\-\\._]", "");
-				params.put(CoreConstants.CLIENT_TYPE, clientType);
-				headers.put(CoreConstants.CLIENT_TYPE, clientType);
+				String client = clientType.replaceAll("[^a-zA-Z0-9\\-\\._]", "");
+				params.put(CoreConstants.CLIENT_TYPE, client);
+				headers.put(CoreConstants.CLIENT_TYPE, client);
 			}
 		    url = m_authProvider.getServer() + API_KEY_LOGIN;
 		}
@@ -99,6 +101,15 @@ public class AuthenticationHandler implements CoreConstants {
 				JSONObject object = (JSONObject)response.getResponseBodyAsJSON();
 				String token = object.getString(TOKEN);
 				m_authProvider.saveConnection(token);
+				m_refresher = () -> {
+					try {
+						login(username, password, persist, type, clientType);
+					} catch (IOException | JSONException e) {
+						// The token is validated with the server once it is no longer cached.
+					}
+				};
+				TokenCache.getDefault().loggedIn(m_authProvider.getServer(), m_authProvider.getAuthorizationHeader(false),
+						object.optString(EXPIRE, null), m_refresher);
 			}
 			return true;
 		}
@@ -108,11 +119,22 @@ public class AuthenticationHandler implements CoreConstants {
 		}
 	}
 	
+	/**
+	 * Checks if the stored token has expired. The server is only asked when the state of the token is not
+	 * known from the shared {@link TokenCache}.
+	 * 
+	 * @return True if the token has expired.
+	 */
 	public boolean isTokenExpired() {
+		String server = m_authProvider.getServer();
+		Map<String, String> authHeaders = m_authProvider.getAuthorizationHeader(false);
+		if(TokenCache.getDefault().isValid(server, authHeaders))
+			return false;
+
 		boolean isExpired;
-		String request_url = m_authProvider.getServer() + API_AUTHENTICATION;
+		String request_url = server + API_AUTHENTICATION;
 		
-		Map<String, String> headers = m_authProvider.getAuthorizationHeader(false);
+		Map<String, String> headers = new HashMap<String, String>(authHeaders);
 		headers.put("Accept", "application/json"); //$NON-NLS-1$ //$NON-NLS-2$
 		headers.put(CHARSET, UTF8);
 
@@ -121,9 +143,15 @@ public class AuthenticationHandler implements CoreConstants {
                 try {
                 	httpResponse = httpClient.get(request_url, headers, null);
                 	isExpired = httpResponse.getResponseCode() != HttpsURLConnection.HTTP_OK;
+                	httpResponse.close();
             	} catch (IOException e) {
                 	isExpired = true;
                 }
+
+		if(isExpired)
+			TokenCache.getDefault().invalidate(server, authHeaders);
+		else
+			TokenCache.getDefault().validated(server, authHeaders);
 		return isExpired;
 	}
 }
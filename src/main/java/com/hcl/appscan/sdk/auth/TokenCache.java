@@ -0,0 +1,220 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.auth;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.hcl.appscan.sdk.utils.DaemonThreadFactory;
+
+/**
+ * Tracks the validity of authentication tokens so that checking whether a token has expired does not require a
+ * request to the server each time. The cache is shared by all threads and all authentication handlers.
+ *
+ * A token is known to be valid until its expiry time, taken from the login response or from the exp claim of a JWT.
+ * It is revalidated with the server at most once per interval, 300 seconds unless set with the
+ * {@value #REVALIDATE_INTERVAL} system property. A token obtained through a login is refreshed in the background
+ * when it is within {@value #REFRESH_WINDOW} seconds (300 by default) of expiring. The cache only holds a weak
+ * reference to the refresher, so the credentials it uses are kept no longer than by the handler that logged in.
+ * Tokens that have expired, or that have no expiry time and are due for revalidation, are evicted as new tokens are
+ * recorded, and a token is removed as soon as a request made with it is rejected with a 401 response.
+ */
+public class TokenCache {
+
+	public static final String REVALIDATE_INTERVAL = "tokenRevalidateInterval"; //$NON-NLS-1$
+	public static final String REFRESH_WINDOW = "tokenRefreshWindow"; //$NON-NLS-1$
+
+	private static final long DEFAULT_REVALIDATE_INTERVAL = 300;
+	private static final long DEFAULT_REFRESH_WINDOW = 300;
+	private static final long CLOCK_SKEW = 30000;
+	private static final Pattern EXP_CLAIM = Pattern.compile("\"exp\"\\s*:\\s*(\\d+)"); //$NON-NLS-1$
+	private static final String AUTHORIZATION = "Authorization"; //$NON-NLS-1$
+	private static final String BEARER = "Bearer "; //$NON-NLS-1$
+
+	private static final TokenCache s_instance = new TokenCache();
+
+	private final Map<String, Entry> m_entries = new ConcurrentHashMap<String, Entry>();
+	private final DaemonThreadFactory m_refreshThreads = new DaemonThreadFactory("appscan-token-refresh-"); //$NON-NLS-1$
+
+	private TokenCache() {
+	}
+
+	/**
+	 * Gets the shared cache.
+	 *
+	 * @return The shared TokenCache.
+	 */
+	public static TokenCache getDefault() {
+		return s_instance;
+	}
+
+	/**
+	 * Checks the cached state of the token in the given headers. If a refresher was registered for the token and the
+	 * token is about to expire, a refresh is started in the background.
+	 *
+	 * @param server The server the token is for.
+	 * @param headers The authorization headers that carry the token.
+	 * @return True if the token is known to be valid, false if it must be validated with the server.
+	 */
+	public boolean isValid(String server, Map<String, String> headers) {
+		Entry entry = m_entries.get(getKey(server, headers));
+		if(entry == null)
+			return false;
+
+		long now = System.currentTimeMillis();
+		if(entry.m_expiresAt > 0 && now >= entry.m_expiresAt - CLOCK_SKEW) {
+			m_entries.remove(getKey(server, headers));
+			return false;
+		}
+		if(entry.m_expiresAt > 0 && now >= entry.m_expiresAt - getSeconds(REFRESH_WINDOW, DEFAULT_REFRESH_WINDOW))
+			refresh(entry);
+		return now - entry.m_validatedAt < getSeconds(REVALIDATE_INTERVAL, DEFAULT_REVALIDATE_INTERVAL);
+	}
+
+	/**
+	 * Records that the token in the given headers was just validated with the server.
+	 *
+	 * @param server The server the token is for.
+	 * @param headers The authorization headers that carry the token.
+	 */
+	public void validated(String server, Map<String, String> headers) {
+		String key = getKey(server, headers);
+		Entry entry = m_entries.get(key);
+		if(entry == null) {
+			evictStale();
+			entry = new Entry(getJwtExpiry(headers.get(AUTHORIZATION)), null);
+			Entry existing = m_entries.putIfAbsent(key, entry);
+			if(existing != null)
+				entry = existing;
+		}
+		entry.m_validatedAt = System.currentTimeMillis();
+	}
+
+	/**
+	 * Records a token returned by a login.
+	 *
+	 * @param server The server the token is for.
+	 * @param headers The authorization headers that carry the new token.
+	 * @param expire The expiry time from the login response in ISO-8601 format, or null if it was not given.
+	 * @param refresher Repeats the login to obtain a new token before this one expires, or null. Only a weak
+	 * reference is kept, so the caller must hold on to the refresher for as long as it should be used.
+	 */
+	public void loggedIn(String server, Map<String, String> headers, String expire, Runnable refresher) {
+		long expiresAt = 0;
+		if(expire != null) {
+			try {
+				expiresAt = Instant.parse(expire).toEpochMilli();
+			} catch (DateTimeParseException e) {
+				// Fall back to the token itself.
+			}
+		}
+		if(expiresAt == 0)
+			expiresAt = getJwtExpiry(headers.get(AUTHORIZATION));
+
+		evictStale();
+		Entry entry = new Entry(expiresAt, refresher);
+		entry.m_validatedAt = System.currentTimeMillis();
+		m_entries.put(getKey(server, headers), entry);
+	}
+
+	/**
+	 * Removes the token in the given headers from the cache, for example after a request was rejected.
+	 *
+	 * @param server The server the token is for.
+	 * @param headers The authorization headers that carry the token.
+	 */
+	public void invalidate(String server, Map<String, String> headers) {
+		m_entries.remove(getKey(server, headers));
+	}
+
+	/**
+	 * Removes the token in the given headers from the cache for every server, for example after a request made with
+	 * it was rejected with a 401 response.
+	 *
+	 * @param headers The authorization headers that carry the token.
+	 */
+	public void invalidate(Map<String, String> headers) {
+		String authorization = headers == null ? null : headers.get(AUTHORIZATION);
+		if(authorization != null)
+			m_entries.keySet().removeIf(key -> key.endsWith('\n' + authorization));
+	}
+
+	/*
+	 * Refreshes a token in the background. A failed refresh is retried once CLOCK_SKEW has passed.
+	 */
+	private void refresh(final Entry entry) {
+		final Runnable refresher = entry.m_refresher.get();
+		if(refresher == null || System.currentTimeMillis() - entry.m_refreshedAt < CLOCK_SKEW || !entry.m_refreshing.compareAndSet(false, true))
+			return;
+		entry.m_refreshedAt = System.currentTimeMillis();
+		m_refreshThreads.newThread(() -> {
+			try {
+				refresher.run();
+			} finally {
+				entry.m_refreshing.set(false);
+			}
+		}).start();
+	}
+
+	/*
+	 * Removes the tokens that could only be reported as invalid.
+	 */
+	private void evictStale() {
+		long now = System.currentTimeMillis();
+		long revalidateInterval = getSeconds(REVALIDATE_INTERVAL, DEFAULT_REVALIDATE_INTERVAL);
+		m_entries.values().removeIf(entry -> entry.m_expiresAt > 0 ? now >= entry.m_expiresAt - CLOCK_SKEW
+				: now - entry.m_validatedAt >= revalidateInterval);
+	}
+
+	private static String getKey(String server, Map<String, String> headers) {
+		String authorization = headers.get(AUTHORIZATION);
+		return server + '\n' + (authorization == null ? headers.toString() : authorization);
+	}
+
+	private static long getSeconds(String property, long defaultValue) {
+		return Long.getLong(property, defaultValue) * 1000;
+	}
+
+	/*
+	 * Reads the exp claim of a bearer JWT. Returns 0 if the token is not a JWT.
+	 */
+	private static long getJwtExpiry(String authorization) {
+		if(authorization == null)
+			return 0;
+		String token = authorization.startsWith(BEARER) ? authorization.substring(BEARER.length()) : authorization;
+		String[] parts = token.split("\\."); //$NON-NLS-1$
+		if(parts.length != 3)
+			return 0;
+		try {
+			String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+			Matcher matcher = EXP_CLAIM.matcher(claims);
+			return matcher.find() ? Long.parseLong(matcher.group(1)) * 1000 : 0;
+		} catch (IllegalArgumentException e) {
+			return 0;
+		}
+	}
+
+	private static class Entry {
+		private final long m_expiresAt;
+		private final WeakReference<Runnable> m_refresher;
+		private final AtomicBoolean m_refreshing = new AtomicBoolean();
+		private volatile long m_validatedAt;
+		private volatile long m_refreshedAt;
+
+		private Entry(long expiresAt, Runnable refresher) {
+			m_expiresAt = expiresAt;
+			m_refresher = new WeakReference<Runnable>(refresher);
+		}
+	}
+}
@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2024.
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -9,33 +9,24 @@ import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.net.URL;
 import java.net.URLEncoder;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
+import java.security.GeneralSecurityException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSession;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
+
+import com.hcl.appscan.sdk.auth.TokenCache;
 
 public class HttpClient {
 	
 	private String m_boundary;
-	private long m_totalMultipartLength;
-	private long m_uploadedMultipartLength;
-    private static final String CR_LF = "\r\n"; //$NON-NLS-1$
-    private static final String TWO_HYPHENS = "--"; //$NON-NLS-1$
     
     private IHttpProgress m_progressAdapter;
     private Proxy m_proxy;
@@ -286,56 +277,24 @@ public class HttpClient {
 			Map<String, String> headerProperties, List<HttpPart> parts)
 					throws IOException {
 		HttpURLConnection conn = makeConnection(url, method, headerProperties);
-				
-		DataOutputStream outputStream = null;
-		conn.setChunkedStreamingMode(1024);
 		
 		if (parts!=null && !parts.isEmpty()) {
+			MultipartWriter writer = new MultipartWriter(m_boundary, parts, m_progressAdapter);
 			conn.setDoOutput(true);
 			conn.setUseCaches(false);
+			writer.setStreamingMode(conn);
 			
-			outputStream = new DataOutputStream(conn.getOutputStream());
-			
-			m_uploadedMultipartLength = 0;
-			m_totalMultipartLength = getTotalPartsLength(parts);
-			
-			updateProgress();
-			
-			StringBuilder builder;
-			Map<String, String> partHeaders;
-			for (HttpPart part : parts) {
-				builder = new StringBuilder();
-				builder.append(TWO_HYPHENS+m_boundary+CR_LF);
-				partHeaders = part.getPartHeaders();
-				Iterator<String> headers = partHeaders.keySet().iterator();
-				String header;
-				while (headers.hasNext()) {
-					header = headers.next();
-					builder.append(header + ": " +partHeaders.get(header)+CR_LF); //$NON-NLS-1$
-				}
-				outputStream.writeBytes(builder.toString()+CR_LF);
-				outputStream.flush();
-				byte[] buffer = new byte[1024];
-			    int bytesRead;
-			    while ((bytesRead = part.getPartBodyInputStream().read(buffer)) != -1)
-			    {
-			    	outputStream.write(buffer, 0, bytesRead);
-			    	m_uploadedMultipartLength += bytesRead;
-					updateProgress();
-			    }
-				outputStream.writeBytes(CR_LF);
-				outputStream.flush();
+			OutputStream outputStream = conn.getOutputStream();
+			try {
+				writer.writeTo(outputStream);
+			} finally {
+				outputStream.close();
 			}
-			outputStream.writeBytes(TWO_HYPHENS+m_boundary+TWO_HYPHENS+CR_LF);
-			outputStream.flush();
-			updateProgress();
 		}
-		outputStream.flush();
-		outputStream.close();
 		
 		m_progressAdapter.endProgress();
 		
-		return new HttpResponse(conn);
+		return checkAuthorization(new HttpResponse(conn), headerProperties);
 	}
 
 	private HttpResponse makeRequest(Method method, String url,
@@ -353,16 +312,23 @@ public class HttpClient {
 			writer.close();
 		}
 		
-		return new HttpResponse(conn);
+		return checkAuthorization(new HttpResponse(conn), headerProperties);
+	}
+
+	/*
+	 * Drops a rejected token from the shared TokenCache, so it is no longer reported as valid.
+	 */
+	private HttpResponse checkAuthorization(HttpResponse response, Map<String, String> headerProperties) {
+		if(response.getResponseCode() == HttpURLConnection.HTTP_UNAUTHORIZED)
+			TokenCache.getDefault().invalidate(headerProperties);
+		return response;
 	}
 	
 	private HttpURLConnection makeConnection(String url, Method method,
 			Map<String, String> headerProperties) throws IOException {
 		URL requestURL = new URL(url);
-		HttpURLConnection conn = null;
-		conn = (HttpURLConnection) requestURL.openConnection(m_proxy);
+		HttpURLConnection conn = HttpTransport.getDefault().openConnection(requestURL, m_proxy);
 		conn.setRequestMethod(method.name());
-		conn.setReadTimeout(0);
 		if((conn instanceof HttpsURLConnection) && m_bypassSSL) {
 			bypassSSL((HttpsURLConnection)conn);
 		}
@@ -376,19 +342,6 @@ public class HttpClient {
 		return conn;
 	}
 	
-	private long getTotalPartsLength(List<HttpPart> parts) {
-		long totalSize = 0;
-		for (HttpPart part : parts) {
-			totalSize += part.getPartLength();
-		}
-		return totalSize;
-	}
-	
-	private void updateProgress() {
-		int progress = (int) ((float)m_uploadedMultipartLength/m_totalMultipartLength*100);
-		m_progressAdapter.setProgress(progress);
-	}
-	
 	private String buildQueryString(Map<String, String> params) throws UnsupportedEncodingException {
 	    StringBuilder result = new StringBuilder();
 	    boolean first = true;
@@ -413,40 +366,13 @@ public class HttpClient {
 	    return result.toString();
 	}
 	
-	private void bypassSSL(HttpsURLConnection conn)  {
-		conn.setHostnameVerifier(new HostnameVerifier() {
-			@Override
-			public boolean verify(String hostname, SSLSession session) {
-				return true;
-			}
-		});
-
-		TrustManager[] trustManagers = new TrustManager[] { new X509TrustManager() {
-
-			private X509Certificate[] x509Certificates = new X509Certificate[0];
-
-			@Override
-			public X509Certificate[] getAcceptedIssuers() {
-				return x509Certificates;
-			}
-
-			@Override
-			public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-				// do nothing
-			}
-
-			@Override
-			public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-				// do nothing
-			}
-		}};
+	private void bypassSSL(HttpsURLConnection conn) throws IOException {
+		conn.setHostnameVerifier(SSLContextCache.getTrustAllHostnameVerifier());
 
 		try {
-			SSLContext context = SSLContext.getInstance("TLSv1.2"); //$NON-NLS-1$
-			context.init(null, trustManagers, null);
-			conn.setSSLSocketFactory(context.getSocketFactory());
-		} catch (NoSuchAlgorithmException | KeyManagementException e) {
-			//Ignore. The connection should fail.
+			conn.setSSLSocketFactory(SSLContextCache.getTrustAllSocketFactory(SSLContextCache.TLS_1_2));
+		} catch (GeneralSecurityException e) {
+			throw new IOException(e);
 		}
 	}
 }
@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017. 
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -61,6 +61,24 @@ public class HttpPart {
     	m_totalPartLength = file.length();
 	}
 	
+	/**
+	 * Construct a file HttpPart whose content is read from a stream of unknown length, such as an archive that is
+	 * still being created. Requests with such a part are sent in chunked streaming mode.
+	 * 
+	 * @param fieldName The name of the file part.
+	 * @param fileName The name of the file.
+	 * @param contentType The content type of the file.
+	 * @param body The content of the file. It is closed once it has been written.
+	 */
+	public HttpPart(String fieldName, String fileName, String contentType, InputStream body) {
+		this();
+		m_partHeaders.put(CONTENT_DISPOSITION, "form-data; name=\"" + fieldName 
+    			+ "\"; filename=\"" + fileName + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		m_partHeaders.put(CONTENT_TYPE, contentType);
+		m_bodyStream = body;
+		m_totalPartLength = -1;
+	}
+	
 	/**
 	 * Return the HTTP headers for this part.
 	 * 
@@ -92,7 +110,7 @@ public class HttpPart {
 	/**
 	 * Return the total byte size of this part.
 	 *  
-	 * @return The length of bytes for this part.
+	 * @return The length of bytes for this part, or -1 if it is not known.
 	 */
 	public long getPartLength() {
 		return m_totalPartLength;
@@ -1,18 +1,24 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017. 
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
 package com.hcl.appscan.sdk.http;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -20,11 +26,13 @@ import org.apache.wink.json4j.JSON;
 import org.apache.wink.json4j.JSONArtifact;
 import org.apache.wink.json4j.JSONException;
 
-public class HttpResponse {
+public class HttpResponse implements Closeable {
 
 	private static final int READ_SIZE = 16384;
+	private static final int FILE_READ_SIZE = 256 * 1024;
 	
 	private byte[] m_content = null;
+	private boolean m_streamed = false;
 	private HttpURLConnection m_connection;
 
 	public HttpResponse(HttpURLConnection conn) {
@@ -78,7 +86,69 @@ public class HttpResponse {
 	public JSONArtifact getResponseBodyAsJSON() throws IOException, JSONException {
 		if (!hasResponseBody())
 			return null;
-		return JSON.parse(getResponseBodyAsString());
+		return JSON.parse(new InputStreamReader(new ByteArrayInputStream(m_content), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Gets the response body as a stream, without buffering it in memory. The caller
+	 * is responsible for closing the stream. If the body was already read by another
+	 * method, the buffered content is returned instead. Once the body was streamed, it
+	 * cannot be read again by any method.
+	 * 
+	 * @return The response body, or null if there is no response body.
+	 * @throws IOException If an error occurs.
+	 * @throws IllegalStateException If the body was already streamed.
+	 */
+	public InputStream getResponseBodyAsStream() throws IOException {
+		checkNotStreamed();
+		if (m_content != null)
+			return new ByteArrayInputStream(m_content);
+
+		int responseCode = getResponseCode();
+		if (responseCode == HttpURLConnection.HTTP_NO_CONTENT)
+			return null;
+
+		boolean error = (responseCode < HttpURLConnection.HTTP_OK || responseCode >= HttpURLConnection.HTTP_MULT_CHOICE);
+		InputStream is = error ? m_connection.getErrorStream() : m_connection.getInputStream();
+		if (is != null)
+			m_streamed = true;
+		return is;
+	}
+
+	/**
+	 * Gets the response body as a channel, without buffering it in memory. The caller
+	 * is responsible for closing the channel.
+	 * 
+	 * @return The response body, or null if there is no response body.
+	 * @throws IOException If an error occurs.
+	 */
+	public ReadableByteChannel getResponseBodyAsChannel() throws IOException {
+		InputStream is = getResponseBodyAsStream();
+		return is == null ? null : Channels.newChannel(is);
+	}
+
+	/**
+	 * Reads the elements of a JSON array in the response body one at a time, without
+	 * materializing the whole body.
+	 * 
+	 * @param arrayName The name of the array in the top level object, for example "Items".
+	 * If null, the body itself must be an array.
+	 * @param handler The handler for each element.
+	 * @return The number of elements read.
+	 * @throws IOException If an error occurs.
+	 * @throws JSONException If the body is not valid JSON or the handler fails.
+	 */
+	public int getResponseBodyAsJSONItems(String arrayName, IJSONItemHandler handler) throws IOException, JSONException {
+		InputStream is = getResponseBodyAsStream();
+		if (is == null)
+			return 0;
+
+		JSONStreamReader reader = new JSONStreamReader(is);
+		try {
+			return reader.readArray(arrayName, handler);
+		} finally {
+			reader.close();
+		}
 	}
 
 	/**
@@ -89,8 +159,9 @@ public class HttpResponse {
 	 * @throws IOException If an error occurs.
 	 */
 	public void getResponseBodyAsFile(File destination) throws IOException {
+		checkNotStreamed();
 		FileOutputStream out = new FileOutputStream(destination, false);
-		getHttpResponseBody(out);
+		getHttpResponseBody(out, FILE_READ_SIZE);
 		out.close();
 	}
 	
@@ -103,16 +174,51 @@ public class HttpResponse {
 		return (rc >= HttpURLConnection.HTTP_OK && rc < HttpURLConnection.HTTP_MULT_CHOICE);
 	}
 	
+	/**
+	 * Releases the connection if the response body has not been read. Unread content is discarded
+	 * so the underlying connection can be reused for other requests.
+	 */
+	@Override
+	public void close() {
+		if(m_content != null || m_streamed)
+			return;
+
+		m_content = new byte[0];
+		int responseCode = getResponseCode();
+		if (responseCode == -1 || responseCode == HttpURLConnection.HTTP_NO_CONTENT)
+			return;
+
+		boolean error = (responseCode < HttpURLConnection.HTTP_OK || responseCode >= HttpURLConnection.HTTP_MULT_CHOICE);
+		InputStream is;
+		try {
+			is = error ? m_connection.getErrorStream() : m_connection.getInputStream();
+		} catch (IOException e) {
+			return;
+		}
+		HttpTransport.getDefault().release(m_connection, is);
+	}
+	
+	HttpURLConnection getConnection() {
+		return m_connection;
+	}
+	
+	private void checkNotStreamed() {
+		if (m_streamed)
+			throw new IllegalStateException("The response body was already streamed."); //$NON-NLS-1$
+	}
+	
 	private boolean hasResponseBody() throws IOException {
+		checkNotStreamed();
 		if(m_content == null) {
-			ByteArrayOutputStream out = new ByteArrayOutputStream();
-			this.getHttpResponseBody(out);
+			int length = m_connection.getContentLength();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(length > 0 ? length : READ_SIZE);
+			this.getHttpResponseBody(out, READ_SIZE);
 			m_content = out.toByteArray();
 		}
 		return (m_content != null);
 	}
 	
-	private void getHttpResponseBody(OutputStream out) throws IOException {
+	private void getHttpResponseBody(OutputStream out, int readSize) throws IOException {
 		int responseCode = getResponseCode();
 		boolean error = (responseCode < HttpURLConnection.HTTP_OK || responseCode >= HttpURLConnection.HTTP_MULT_CHOICE);
 	
@@ -121,7 +227,7 @@ public class HttpResponse {
 			if(is == null)
 				return;
 
-			byte[] buf = new byte[READ_SIZE];
+			byte[] buf = new byte[readSize];
 			int result = 0;
 			
 			while((result = is.read(buf, 0, buf.length)) > 0) {
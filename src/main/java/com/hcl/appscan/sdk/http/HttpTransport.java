@@ -0,0 +1,156 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+
+import com.hcl.appscan.sdk.scan.CancellationToken;
+
+/**
+ * The shared transport used by {@link HttpClient} and {@link HttpsClient} to open connections.
+ *
+ * Connections are served from the JDK keep-alive cache, which pools idle sockets per route (protocol, host, port
+ * and proxy) and is safe to use from any number of threads. This class makes sure response streams are drained and
+ * closed, so sockets are handed back to the pool instead of being discarded.
+ *
+ * The cache itself is shared by the whole JVM, so it is left to the host application to tune it with the standard
+ * JDK system properties, such as http.keepAlive, http.maxConnections (idle connections kept per route, 5 by default)
+ * and http.keepAlive.time.server.
+ *
+ * The following system properties can be used to set the timeouts of the connections opened by the SDK. They must be
+ * set before the first request is made.
+ * <ul>
+ * <li>{@value #CONNECT_TIMEOUT} - The number of seconds to wait for a connection to be established. Default is {@value #DEFAULT_CONNECT_TIMEOUT}.</li>
+ * <li>{@value #READ_TIMEOUT} - The number of seconds to wait for data from the server. By default there is no read timeout.</li>
+ * </ul>
+ *
+ * The timeouts are shortened to the time left on the {@link CancellationToken} of the current thread, if any.
+ */
+public final class HttpTransport {
+
+	public static final String CONNECT_TIMEOUT = "httpConnectTimeout"; //$NON-NLS-1$
+	public static final String READ_TIMEOUT = "httpReadTimeout"; //$NON-NLS-1$
+
+	private static final int DEFAULT_CONNECT_TIMEOUT = 60;
+
+	// Responses larger than this are not worth draining. The connection is closed instead.
+	private static final int MAX_DRAIN_SIZE = 65536;
+	private static final int READ_SIZE = 8192;
+
+	private static final HttpTransport INSTANCE = new HttpTransport();
+
+	private final int m_connectTimeout;
+	private final int m_readTimeout;
+
+	private HttpTransport() {
+		m_connectTimeout = getIntProperty(CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT);
+		m_readTimeout = getIntProperty(READ_TIMEOUT, 0);
+	}
+
+	/**
+	 * Gets the shared transport.
+	 *
+	 * @return The shared {@link HttpTransport}.
+	 */
+	public static HttpTransport getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Opens a connection to the given URL.
+	 *
+	 * @param url The URL to connect to.
+	 * @param proxy The proxy to use for the connection, or null to use the default proxy selector.
+	 * @return The connection.
+	 * @throws IOException If an error occurs, or if the {@link CancellationToken} of the current thread is cancelled.
+	 */
+	public HttpURLConnection openConnection(URL url, Proxy proxy) throws IOException {
+		CancellationToken token = CancellationToken.current();
+		token.check();
+		HttpURLConnection conn = (HttpURLConnection) (proxy == null ? url.openConnection() : url.openConnection(proxy));
+		conn.setUseCaches(false);
+		conn.setConnectTimeout(getTimeout(m_connectTimeout, token));
+		conn.setReadTimeout(getTimeout(m_readTimeout, token));
+		return conn;
+	}
+
+	/**
+	 * Gets the number of seconds to wait for a connection to be established.
+	 *
+	 * @return The connect timeout in seconds.
+	 */
+	public int getConnectTimeout() {
+		return m_connectTimeout;
+	}
+
+	/**
+	 * Gets the number of seconds to wait for data from the server.
+	 *
+	 * @return The read timeout in seconds, or 0 if there is none.
+	 */
+	public int getReadTimeout() {
+		return m_readTimeout;
+	}
+
+	/**
+	 * Releases a connection whose response body is no longer needed. Any unread content is drained so the
+	 * underlying socket can be reused. If too much content remains, the connection is closed instead.
+	 *
+	 * @param conn The connection.
+	 * @param stream The response stream of the connection, or null if there is none.
+	 */
+	void release(HttpURLConnection conn, InputStream stream) {
+		if(stream == null)
+			return;
+
+		try {
+			byte[] buf = new byte[READ_SIZE];
+			long drained = 0;
+			int result;
+			while((result = stream.read(buf)) != -1) {
+				drained += result;
+				if(drained > MAX_DRAIN_SIZE) {
+					conn.disconnect();
+					return;
+				}
+			}
+		} catch (IOException e) {
+			conn.disconnect();
+			return;
+		} finally {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				// Ignore. The connection is discarded.
+			}
+		}
+	}
+
+	/*
+	 * A timeout of 0 seconds means no timeout, unless the token has a deadline. Since the connection also treats 0
+	 * as no timeout, a bounded timeout is at least 1 millisecond.
+	 */
+	private static int getTimeout(int seconds, CancellationToken token) {
+		long timeout = Math.min(seconds > 0 ? seconds * 1000L : Long.MAX_VALUE, token.getRemaining());
+		return timeout >= Integer.MAX_VALUE ? 0 : (int) Math.max(1, timeout);
+	}
+
+	/*
+	 * Reads a positive integer system property, falling back to the default for missing, invalid or non-positive values.
+	 */
+	static int getIntProperty(String key, int defaultValue) {
+		try {
+			int value = Integer.parseInt(System.getProperty(key, Integer.toString(defaultValue)));
+			return value > 0 ? value : defaultValue;
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /**
- * © Copyright HCL Technologies Ltd. 2019. 
+ * © Copyright HCL Technologies Ltd. 2019, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -7,29 +7,17 @@ package com.hcl.appscan.sdk.http;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
-//import java.net.HttpsURLConnection;
+import java.io.OutputStream;
 import java.net.URL;
-import java.security.cert.X509Certificate;
-import java.util.Iterator;
+import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.Map;
 
-import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSession;
-import javax.net.ssl.TrustManager;
-//import javax.net.ssl.X509TrustManager;
-//import java.security.cert.X509Certificate;
-import javax.net.ssl.X509TrustManager;
 import org.apache.wink.json4j.JSONObject;
 
 public class HttpsClient {
     private String m_boundary;
-    private long m_totalMultipartLength;
-    private long m_uploadedMultipartLength;
-    private static final String CR_LF = "\r\n"; //$NON-NLS-1$
-    private static final String TWO_HYPHENS = "--"; //$NON-NLS-1$
     
     private IHttpProgress m_progressAdapter;
 	
@@ -196,52 +184,20 @@ public class HttpsClient {
 			Map<String, String> headerProperties, List<HttpPart> parts)
 					throws IOException {
 		HttpsURLConnection conn = makeConnection(url, method, headerProperties);
-				
-		DataOutputStream outputStream = null;
-		conn.setChunkedStreamingMode(1024);
 		
 		if (parts!=null && !parts.isEmpty()) {
+			MultipartWriter writer = new MultipartWriter(m_boundary, parts, m_progressAdapter);
 			conn.setDoOutput(true);
 			conn.setUseCaches(false);
+			writer.setStreamingMode(conn);
 			
-			outputStream = new DataOutputStream(conn.getOutputStream());
-			
-			m_uploadedMultipartLength = 0;
-			m_totalMultipartLength = getTotalPartsLength(parts);
-			
-			updateProgress();
-			
-			StringBuilder builder;
-			Map<String, String> partHeaders;
-			for (HttpPart part : parts) {
-				builder = new StringBuilder();
-				builder.append(TWO_HYPHENS+m_boundary+CR_LF);
-				partHeaders = part.getPartHeaders();
-				Iterator<String> headers = partHeaders.keySet().iterator();
-				String header;
-				while (headers.hasNext()) {
-					header = headers.next();
-					builder.append(header + ": " +partHeaders.get(header)+CR_LF); //$NON-NLS-1$
-				}
-				outputStream.writeBytes(builder.toString()+CR_LF);
-				outputStream.flush();
-				byte[] buffer = new byte[1024];
-			    int bytesRead;
-			    while ((bytesRead = part.getPartBodyInputStream().read(buffer)) != -1)
-			    {
-			    	outputStream.write(buffer, 0, bytesRead);
-			    	m_uploadedMultipartLength += bytesRead;
-					updateProgress();
-			    }
-				outputStream.writeBytes(CR_LF);
-				outputStream.flush();
+			OutputStream outputStream = conn.getOutputStream();
+			try {
+				writer.writeTo(outputStream);
+			} finally {
+				outputStream.close();
 			}
-			outputStream.writeBytes(TWO_HYPHENS+m_boundary+TWO_HYPHENS+CR_LF);
-			outputStream.flush();
-			updateProgress();
 		}
-		outputStream.flush();
-		outputStream.close();
 		
 		m_progressAdapter.endProgress();
 		
@@ -269,24 +225,15 @@ public class HttpsClient {
 	private HttpsURLConnection makeConnection(String url, Method method,
 			Map<String, String> headerProperties) throws IOException {
 			URL requestURL = new URL(url);
-                
-            try {
-	                SSLContext sc = SSLContext.getInstance("TLS");
-	                sc.init(null, new TrustManager[] { new TrustAllX509TrustManager() }, new java.security.SecureRandom());
-	                HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-	                HttpsURLConnection.setDefaultHostnameVerifier( new HostnameVerifier() {
-	                public boolean verify(String string,SSLSession ssls) {
-	                	return true;
-                }	
-               });
-            }
-            catch(Exception e){
-                e.printStackTrace();
-            }
-			HttpsURLConnection conn = null;
-			conn = (HttpsURLConnection) requestURL.openConnection();
+			HttpsURLConnection conn = (HttpsURLConnection) HttpTransport.getDefault().openConnection(requestURL, null);
 			conn.setRequestMethod(method.name());
-			conn.setReadTimeout(0);
+			try {
+				conn.setSSLSocketFactory(SSLContextCache.getTrustAllSocketFactory(SSLContextCache.TLS));
+				conn.setHostnameVerifier(SSLContextCache.getTrustAllHostnameVerifier());
+			}
+			catch(GeneralSecurityException e){
+				throw new IOException(e);
+			}
 
 			// HTTP headers
 			if (headerProperties != null) {
@@ -297,36 +244,8 @@ public class HttpsClient {
 			return conn;
 	}       
 	
-	private long getTotalPartsLength(List<HttpPart> parts) {
-		long totalSize = 0;
-		for (HttpPart part : parts) {
-			totalSize += part.getPartLength();
-		}
-		return totalSize;
-	}
-	
-	private void updateProgress() {
-		int progress = (int) ((float)m_uploadedMultipartLength/m_totalMultipartLength*100);
-		m_progressAdapter.setProgress(progress);
-	}
-
-        
     private String buildQueryString(Map<String , String > params){
         JSONObject obj= new JSONObject(params);
         return obj.toString();
     }
 }
-
-	class TrustAllX509TrustManager implements X509TrustManager {
-	    public X509Certificate[] getAcceptedIssuers() {
-	        return new X509Certificate[0];
-	    }
-	
-	    public void checkClientTrusted(java.security.cert.X509Certificate[] certs,
-	            String authType) {
-	    }
-	
-	    public void checkServerTrusted(java.security.cert.X509Certificate[] certs,
-	            String authType) {
-	    }
-}
\ No newline at end of file
@@ -0,0 +1,24 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.http;
+
+import org.apache.wink.json4j.JSONArtifact;
+import org.apache.wink.json4j.JSONException;
+
+/**
+ * Receives the elements of a JSON array one at a time as they are read from a stream.
+ */
+public interface IJSONItemHandler {
+
+	/**
+	 * Handles a single element of the array.
+	 *
+	 * @param item The element. Objects and arrays are passed as a {@link JSONArtifact}.
+	 * @return True to continue reading, false to stop.
+	 * @throws JSONException If an error occurs handling the item.
+	 */
+	boolean handle(JSONArtifact item) throws JSONException;
+}
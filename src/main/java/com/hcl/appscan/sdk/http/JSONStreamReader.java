@@ -0,0 +1,193 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.http;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.wink.json4j.JSON;
+import org.apache.wink.json4j.JSONException;
+
+/**
+ * Reads the elements of a JSON array from a stream one at a time, without materializing the whole document.
+ * Only one element is held in memory at once, so large collections such as issue lists can be processed
+ * with constant memory. Elements that are not objects or arrays are skipped.
+ */
+public class JSONStreamReader {
+
+	private static final int EOF = -1;
+
+	private final PushbackReader m_reader;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param stream A UTF-8 encoded stream of JSON content.
+	 */
+	public JSONStreamReader(InputStream stream) {
+		this(new InputStreamReader(stream, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param reader A reader of JSON content.
+	 */
+	public JSONStreamReader(Reader reader) {
+		m_reader = new PushbackReader(new BufferedReader(reader));
+	}
+
+	/**
+	 * Reads the elements of an array, passing each to the handler.
+	 *
+	 * @param arrayName The name of the array property in the top level object, for example "Items".
+	 * If null, the document itself must be an array.
+	 * @param handler The handler for each element.
+	 * @return The number of elements passed to the handler.
+	 * @throws IOException If an error occurs reading the stream.
+	 * @throws JSONException If the content is not valid JSON or the handler fails.
+	 */
+	public int readArray(String arrayName, IJSONItemHandler handler) throws IOException, JSONException {
+		int c = nextToken();
+		if(arrayName == null) {
+			if(c != '[')
+				throw new JSONException("Expected an array"); //$NON-NLS-1$
+			return readElements(handler);
+		}
+
+		if(c != '{')
+			throw new JSONException("Expected an object"); //$NON-NLS-1$
+
+		while((c = nextToken()) != '}') {
+			if(c == ',')
+				continue;
+			if(c != '"')
+				throw new JSONException("Expected a property name"); //$NON-NLS-1$
+			String name = readString();
+			if(nextToken() != ':')
+				throw new JSONException("Expected ':'"); //$NON-NLS-1$
+			c = nextToken();
+			if(arrayName.equals(name) && c == '[')
+				return readElements(handler);
+			readValue(c, null);
+		}
+		return 0;
+	}
+
+	/**
+	 * Closes the underlying reader.
+	 *
+	 * @throws IOException If an error occurs.
+	 */
+	public void close() throws IOException {
+		m_reader.close();
+	}
+
+	/*
+	 * Reads elements after the opening '[' up to and including the closing ']'.
+	 */
+	private int readElements(IJSONItemHandler handler) throws IOException, JSONException {
+		int count = 0;
+		int c;
+		while((c = nextToken()) != ']') {
+			if(c == ',')
+				continue;
+			if(c == '{' || c == '[') {
+				StringBuilder element = new StringBuilder();
+				readValue(c, element);
+				count++;
+				if(!handler.handle(JSON.parse(element.toString())))
+					break;
+			}
+			else
+				readValue(c, null);
+		}
+		return count;
+	}
+
+	/*
+	 * Reads a complete value starting with the given character, appending it to the sink if one is given.
+	 */
+	private void readValue(int first, StringBuilder sink) throws IOException, JSONException {
+		if(first == '"') {
+			String value = readString();
+			if(sink != null)
+				sink.append('"').append(value).append('"');
+			return;
+		}
+
+		if(first != '{' && first != '[') {
+			// Literal: number, true, false or null.
+			int c = first;
+			while(c != EOF && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+				if(sink != null)
+					sink.append((char) c);
+				c = m_reader.read();
+			}
+			if(c != EOF)
+				m_reader.unread(c);
+			return;
+		}
+
+		int depth = 0;
+		int c = first;
+		do {
+			if(c == EOF)
+				throw new JSONException("Unexpected end of content"); //$NON-NLS-1$
+			if(c == '"') {
+				String value = readString();
+				if(sink != null)
+					sink.append('"').append(value).append('"');
+			}
+			else {
+				if(c == '{' || c == '[')
+					depth++;
+				else if(c == '}' || c == ']')
+					depth--;
+				if(sink != null)
+					sink.append((char) c);
+			}
+			if(depth > 0)
+				c = m_reader.read();
+		} while(depth > 0);
+	}
+
+	/*
+	 * Reads the raw content of a string after its opening quote, up to and including the closing quote.
+	 * Escape sequences are preserved as-is.
+	 */
+	private String readString() throws IOException, JSONException {
+		StringBuilder builder = new StringBuilder();
+		int c;
+		while((c = m_reader.read()) != '"') {
+			if(c == EOF)
+				throw new JSONException("Unterminated string"); //$NON-NLS-1$
+			builder.append((char) c);
+			if(c == '\\') {
+				c = m_reader.read();
+				if(c == EOF)
+					throw new JSONException("Unterminated string"); //$NON-NLS-1$
+				builder.append((char) c);
+			}
+		}
+		return builder.toString();
+	}
+
+	private int nextToken() throws IOException, JSONException {
+		int c;
+		do {
+			c = m_reader.read();
+		} while(c != EOF && Character.isWhitespace(c));
+		if(c == EOF)
+			throw new JSONException("Unexpected end of content"); //$NON-NLS-1$
+		return c;
+	}
+}
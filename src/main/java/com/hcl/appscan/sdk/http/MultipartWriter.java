@@ -0,0 +1,159 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a multipart/form-data request body.
+ *
+ * The exact length of the body is computed up front so the request can be sent in fixed-length streaming mode,
+ * file content is copied through a single large buffer, and progress is only reported when the percentage changes.
+ * If the length of a part is not known in advance, the request is sent in chunked streaming mode instead.
+ */
+public class MultipartWriter {
+
+	private static final String CR_LF = "\r\n"; //$NON-NLS-1$
+	private static final String TWO_HYPHENS = "--"; //$NON-NLS-1$
+	private static final int BUFFER_SIZE = 256 * 1024;
+	private static final int CHUNK_LENGTH = 64 * 1024;
+
+	private final String m_boundary;
+	private final List<HttpPart> m_parts;
+	private final IHttpProgress m_progress;
+
+	private long m_totalLength;
+	private long m_uploadedLength;
+	private int m_lastProgress = -1;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param boundary The multipart boundary.
+	 * @param parts The parts to write.
+	 * @param progress The progress adapter to notify as part bodies are written.
+	 */
+	public MultipartWriter(String boundary, List<HttpPart> parts, IHttpProgress progress) {
+		m_boundary = boundary;
+		m_parts = parts;
+		m_progress = progress;
+	}
+
+	/**
+	 * Gets the exact number of bytes {@link #writeTo(OutputStream)} writes.
+	 *
+	 * @return The length of the request body in bytes, or -1 if the length of a part is not known.
+	 */
+	public long getContentLength() {
+		long length = 0;
+		for (HttpPart part : m_parts) {
+			if (part.getPartLength() < 0)
+				return -1;
+			length += getPartHeader(part).length();
+			length += part.getPartLength();
+			length += CR_LF.length();
+		}
+		length += getClosingBoundary().length();
+		return length;
+	}
+
+	/**
+	 * Sets the streaming mode of a connection the body will be written to: fixed-length if the length of the body is
+	 * known, chunked otherwise.
+	 *
+	 * @param conn The connection.
+	 */
+	public void setStreamingMode(HttpURLConnection conn) {
+		long length = getContentLength();
+		if (length < 0)
+			conn.setChunkedStreamingMode(CHUNK_LENGTH);
+		else
+			conn.setFixedLengthStreamingMode(length);
+	}
+
+	/**
+	 * Writes the request body. The body stream of each part is closed once it has been written.
+	 *
+	 * @param out The stream to write to.
+	 * @throws IOException If an error occurs.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		m_uploadedLength = 0;
+		m_totalLength = 0;
+		for (HttpPart part : m_parts) {
+			if (part.getPartLength() < 0) {
+				m_totalLength = -1;
+				break;
+			}
+			m_totalLength += part.getPartLength();
+		}
+
+		updateProgress();
+
+		byte[] buffer = new byte[BUFFER_SIZE];
+		for (HttpPart part : m_parts) {
+			out.write(toBytes(getPartHeader(part)));
+
+			InputStream body = part.getPartBodyInputStream();
+			try {
+				int bytesRead;
+				while ((bytesRead = body.read(buffer)) != -1) {
+					out.write(buffer, 0, bytesRead);
+					m_uploadedLength += bytesRead;
+					updateProgress();
+				}
+			} finally {
+				body.close();
+			}
+			out.write(toBytes(CR_LF));
+		}
+		out.write(toBytes(getClosingBoundary()));
+		out.flush();
+		if (m_totalLength < 0)
+			m_totalLength = m_uploadedLength;
+		updateProgress();
+	}
+
+	private String getPartHeader(HttpPart part) {
+		StringBuilder builder = new StringBuilder();
+		builder.append(TWO_HYPHENS).append(m_boundary).append(CR_LF);
+		for (Map.Entry<String, String> header : part.getPartHeaders().entrySet())
+			builder.append(header.getKey()).append(": ").append(header.getValue()).append(CR_LF); //$NON-NLS-1$
+		builder.append(CR_LF);
+		return builder.toString();
+	}
+
+	private String getClosingBoundary() {
+		return TWO_HYPHENS + m_boundary + TWO_HYPHENS + CR_LF;
+	}
+
+	private void updateProgress() {
+		int progress;
+		if (m_totalLength < 0)
+			progress = 0;
+		else
+			progress = m_totalLength == 0 ? 100 : (int) (m_uploadedLength * 100 / m_totalLength);
+		if (progress != m_lastProgress) {
+			m_lastProgress = progress;
+			m_progress.setProgress(progress);
+		}
+	}
+
+	/*
+	 * Headers are written one byte per character, as DataOutputStream.writeBytes() does.
+	 */
+	private static byte[] toBytes(String value) {
+		byte[] bytes = new byte[value.length()];
+		for (int i = 0; i < bytes.length; i++)
+			bytes[i] = (byte) value.charAt(i);
+		return bytes;
+	}
+}
@@ -0,0 +1,328 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.http;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.hcl.appscan.sdk.utils.DaemonThreadFactory;
+
+/**
+ * Downloads a large response body as several byte ranges fetched in parallel. Each range is written directly to its
+ * position in a pre-allocated file, so no segment is buffered in memory or copied twice. Completed ranges are
+ * recorded next to the partial file, so an interrupted download of the same content resumes where it stopped.
+ *
+ * The first range is read from the response of the original request. If the server does not support range requests,
+ * or the body is smaller than a single segment, the body is saved through that response as a single stream.
+ */
+public class RangedDownload {
+
+	public static final String SEGMENT_SIZE = "downloadSegmentSize"; //$NON-NLS-1$
+	public static final String CONNECTIONS = "downloadConnections"; //$NON-NLS-1$
+
+	private static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+	private static final int DEFAULT_CONNECTIONS = 4;
+	private static final int MAX_RETRIES = 2;
+	private static final int BUFFER_SIZE = 256 * 1024;
+
+	private static final String PART_EXTENSION = ".part"; //$NON-NLS-1$
+	private static final String STATE_EXTENSION = ".properties"; //$NON-NLS-1$
+	private static final String LENGTH = "length"; //$NON-NLS-1$
+	private static final String VALIDATOR = "validator"; //$NON-NLS-1$
+	private static final String SEGMENT_SIZE_KEY = "segmentSize"; //$NON-NLS-1$
+	private static final String SEGMENTS = "segments"; //$NON-NLS-1$
+	private static final String SHA_256 = "sha-256="; //$NON-NLS-1$
+
+	private final String m_url;
+	private final Map<String, String> m_headers;
+	private final Proxy m_proxy;
+	private final boolean m_bypassSSL;
+
+	private int m_segmentSize = HttpTransport.getIntProperty(SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE);
+	private int m_connections = HttpTransport.getIntProperty(CONNECTIONS, DEFAULT_CONNECTIONS);
+
+	/**
+	 * Constructor.
+	 *
+	 * @param url The URL of the original request.
+	 * @param headers The headers of the original request, or null.
+	 * @param proxy The proxy to use, or null for the default.
+	 * @param bypassSSL True to accept invalid certificates.
+	 */
+	public RangedDownload(String url, Map<String, String> headers, Proxy proxy, boolean bypassSSL) {
+		m_url = url;
+		m_headers = headers == null ? new HashMap<String, String>() : headers;
+		m_proxy = proxy;
+		m_bypassSSL = bypassSSL;
+	}
+
+	/**
+	 * Sets the number of bytes in each range. Defaults to the {@value #SEGMENT_SIZE} system property, or 8MB if it is
+	 * not a positive number.
+	 *
+	 * @param segmentSize The segment size in bytes.
+	 * @throws IllegalArgumentException If the segment size is not positive.
+	 */
+	public void setSegmentSize(int segmentSize) {
+		if(segmentSize <= 0)
+			throw new IllegalArgumentException("segmentSize: " + segmentSize); //$NON-NLS-1$
+		m_segmentSize = segmentSize;
+	}
+
+	/**
+	 * Sets the number of ranges fetched at once. Defaults to the {@value #CONNECTIONS} system property, or 4 if it is
+	 * not a positive number.
+	 *
+	 * @param connections The number of concurrent connections.
+	 * @throws IllegalArgumentException If the number of connections is not positive.
+	 */
+	public void setConnections(int connections) {
+		if(connections <= 0)
+			throw new IllegalArgumentException("connections: " + connections); //$NON-NLS-1$
+		m_connections = connections;
+	}
+
+	/**
+	 * Saves the body of a successful response to a file.
+	 *
+	 * @param response The successful response to the original request.
+	 * @param destination The file to save the body to.
+	 * @throws IOException If the download fails or the downloaded content does not match the expected size
+	 * or checksum. Completed ranges are kept so a later download can resume.
+	 */
+	public void download(HttpResponse response, File destination) throws IOException {
+		HttpURLConnection conn = response.getConnection();
+		long length = conn.getContentLengthLong();
+		if(length <= m_segmentSize || !"bytes".equalsIgnoreCase(conn.getHeaderField("Accept-Ranges"))) { //$NON-NLS-1$ //$NON-NLS-2$
+			response.getResponseBodyAsFile(destination);
+			return;
+		}
+
+		String validator = conn.getHeaderField("ETag"); //$NON-NLS-1$
+		if(validator == null)
+			validator = conn.getHeaderField("Last-Modified"); //$NON-NLS-1$
+		String digest = conn.getHeaderField("Digest"); //$NON-NLS-1$
+
+		File part = new File(destination.getPath() + PART_EXTENSION);
+		File stateFile = new File(part.getPath() + STATE_EXTENSION);
+		Properties state = loadState(stateFile, part, length, validator);
+		int segmentSize = Integer.parseInt(state.getProperty(SEGMENT_SIZE_KEY));
+		int segmentCount = (int) ((length + segmentSize - 1) / segmentSize);
+		BitSet completed = new BitSet(segmentCount);
+		for(String index : state.getProperty(SEGMENTS, "").split(",")) { //$NON-NLS-1$ //$NON-NLS-2$
+			if(!index.isEmpty())
+				completed.set(Integer.parseInt(index));
+		}
+
+		try (RandomAccessFile file = new RandomAccessFile(part, "rw")) { //$NON-NLS-1$
+			file.setLength(length);
+			FileChannel channel = file.getChannel();
+			downloadSegments(response, channel, length, segmentSize, segmentCount, validator, completed, stateFile, state);
+			channel.force(false);
+		} finally {
+			response.close();
+		}
+
+		verify(part, length, digest);
+		Files.move(part.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		stateFile.delete();
+	}
+
+	private void downloadSegments(final HttpResponse response, final FileChannel channel, final long length,
+			final int segmentSize, int segmentCount, final String validator, final BitSet completed,
+			final File stateFile, final Properties state) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(m_connections, segmentCount)),
+				new DaemonThreadFactory("appscan-download-")); //$NON-NLS-1$
+		try {
+			List<Future<Void>> results = new ArrayList<Future<Void>>();
+			for(int i = 1; i < segmentCount; i++) {
+				if(completed.get(i))
+					continue;
+				final int index = i;
+				results.add(executor.submit(() -> {
+					long offset = (long) index * segmentSize;
+					downloadRange(channel, offset, Math.min(segmentSize, length - offset), length, validator);
+					markCompleted(index, completed, stateFile, state);
+					return null;
+				}));
+			}
+
+			// The first segment comes from the original response while the others are fetched.
+			if(!completed.get(0)) {
+				InputStream in = response.getResponseBodyAsStream();
+				try {
+					copy(in, channel, 0, Math.min(segmentSize, length));
+				} finally {
+					in.close();
+				}
+				markCompleted(0, completed, stateFile, state);
+			}
+
+			for(Future<Void> result : results)
+				result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw new IOException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void downloadRange(FileChannel channel, long offset, long count, long length, String validator) throws IOException {
+		String range = "bytes " + offset + "-" + (offset + count - 1) + "/" + length; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		IOException failure = null;
+		for(int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+			Map<String, String> headers = new HashMap<String, String>(m_headers);
+			headers.put("Range", "bytes=" + offset + "-" + (offset + count - 1)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if(validator != null)
+				headers.put("If-Range", validator); //$NON-NLS-1$
+
+			HttpResponse response = new HttpClient(m_proxy, m_bypassSSL).get(m_url, headers, null);
+			try {
+				int code = response.getResponseCode();
+				if(code == HttpURLConnection.HTTP_PARTIAL && range.equals(response.getConnection().getHeaderField("Content-Range"))) { //$NON-NLS-1$
+					InputStream in = response.getResponseBodyAsStream();
+					try {
+						copy(in, channel, offset, count);
+						return;
+					} finally {
+						in.close();
+					}
+				}
+				failure = new IOException(m_url + " " + code + " " + range); //$NON-NLS-1$ //$NON-NLS-2$
+				// Anything other than a server error means the content changed or the range was refused.
+				if(code != -1 && code < HttpURLConnection.HTTP_INTERNAL_ERROR)
+					break;
+			} catch (IOException e) {
+				failure = e;
+			} finally {
+				response.close();
+			}
+		}
+		throw failure;
+	}
+
+	/*
+	 * Copies exactly count bytes from the stream to the channel at the given position.
+	 */
+	private static void copy(InputStream in, FileChannel channel, long position, long count) throws IOException {
+		byte[] bytes = new byte[(int) Math.min(BUFFER_SIZE, count)];
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		long remaining = count;
+		while(remaining > 0) {
+			int read = in.read(bytes, 0, (int) Math.min(bytes.length, remaining));
+			if(read < 0)
+				throw new IOException("Unexpected end of content at " + (position + count - remaining)); //$NON-NLS-1$
+			buffer.clear().limit(read);
+			while(buffer.hasRemaining())
+				position += channel.write(buffer, position);
+			remaining -= read;
+		}
+	}
+
+	private static void markCompleted(int index, BitSet completed, File stateFile, Properties state) throws IOException {
+		synchronized(completed) {
+			completed.set(index);
+			StringBuilder segments = new StringBuilder();
+			for(int i = completed.nextSetBit(0); i >= 0; i = completed.nextSetBit(i + 1)) {
+				if(segments.length() > 0)
+					segments.append(',');
+				segments.append(i);
+			}
+			state.setProperty(SEGMENTS, segments.toString());
+			try (OutputStream out = new FileOutputStream(stateFile)) {
+				state.store(out, null);
+			}
+		}
+	}
+
+	/*
+	 * Returns the state of a previous download of the same content, or a new state if there is none.
+	 */
+	private Properties loadState(File stateFile, File part, long length, String validator) {
+		Properties state = new Properties();
+		if(validator != null && part.isFile() && stateFile.isFile()) {
+			try (InputStream in = new FileInputStream(stateFile)) {
+				state.load(in);
+				if(String.valueOf(length).equals(state.getProperty(LENGTH)) && validator.equals(state.getProperty(VALIDATOR))
+						&& Integer.parseInt(state.getProperty(SEGMENT_SIZE_KEY)) > 0)
+					return state;
+			} catch (IOException | NumberFormatException e) {
+				// Start over.
+			}
+		}
+
+		part.delete();
+		state = new Properties();
+		state.setProperty(LENGTH, String.valueOf(length));
+		if(validator != null)
+			state.setProperty(VALIDATOR, validator);
+		state.setProperty(SEGMENT_SIZE_KEY, String.valueOf(m_segmentSize));
+		return state;
+	}
+
+	/*
+	 * Checks the size of the file, and its SHA-256 checksum if the server sent an RFC 3230 Digest header.
+	 */
+	private static void verify(File file, long length, String digest) throws IOException {
+		if(file.length() != length)
+			throw new IOException(file + ": " + file.length() + " != " + length); //$NON-NLS-1$ //$NON-NLS-2$
+
+		if(digest == null)
+			return;
+		String expected = null;
+		for(String value : digest.split(",")) { //$NON-NLS-1$
+			value = value.trim();
+			if(value.toLowerCase().startsWith(SHA_256))
+				expected = value.substring(SHA_256.length());
+		}
+		if(expected == null)
+			return;
+
+		try (InputStream in = new FileInputStream(file)) {
+			MessageDigest sha = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while((read = in.read(buffer)) != -1)
+				sha.update(buffer, 0, read);
+			if(!Arrays.equals(sha.digest(), Base64.getDecoder().decode(expected))) {
+				file.delete();
+				throw new IOException(file + ": checksum mismatch"); //$NON-NLS-1$
+			}
+		} catch (NoSuchAlgorithmException e) {
+			// Nothing to verify against.
+		}
+	}
+}
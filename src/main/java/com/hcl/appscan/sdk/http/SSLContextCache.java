@@ -0,0 +1,133 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.http;
+
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * A process-wide cache of {@link SSLContext}s, keyed by trust configuration.
+ *
+ * Sharing a single context (and socket factory) per configuration lets TLS sessions be resumed across requests
+ * and lets the JDK keep-alive cache reuse connections, since it only pools connections made by the same socket factory.
+ */
+public final class SSLContextCache {
+
+	public static final String TLS = "TLS"; //$NON-NLS-1$
+	public static final String TLS_1_2 = "TLSv1.2"; //$NON-NLS-1$
+
+	private static final String DEFAULT = "default"; //$NON-NLS-1$
+	private static final String TRUST_ALL = "trustAll:"; //$NON-NLS-1$
+
+	private static final int SESSION_CACHE_SIZE = 1000;
+	private static final int SESSION_TIMEOUT = 24 * 60 * 60; // 24 hours
+
+	private static final Map<String, SSLContext> CONTEXTS = new ConcurrentHashMap<String, SSLContext>();
+
+	private static final HostnameVerifier TRUST_ALL_HOSTS = new HostnameVerifier() {
+		@Override
+		public boolean verify(String hostname, SSLSession session) {
+			return true;
+		}
+	};
+
+	private SSLContextCache() {
+	}
+
+	/**
+	 * Gets the socket factory for the JVM's default trust configuration.
+	 *
+	 * @return The default socket factory.
+	 * @throws GeneralSecurityException If the default context cannot be created.
+	 */
+	public static SSLSocketFactory getDefaultSocketFactory() throws GeneralSecurityException {
+		SSLContext context = CONTEXTS.get(DEFAULT);
+		if(context == null) {
+			context = SSLContext.getDefault();
+			SSLContext existing = CONTEXTS.putIfAbsent(DEFAULT, context);
+			context = existing == null ? context : existing;
+		}
+		return context.getSocketFactory();
+	}
+
+	/**
+	 * Gets a socket factory that accepts any server certificate.
+	 *
+	 * @param protocol The SSL protocol. For example {@value #TLS} or {@value #TLS_1_2}.
+	 * @return A socket factory that trusts all certificates.
+	 * @throws GeneralSecurityException If the context cannot be created.
+	 */
+	public static SSLSocketFactory getTrustAllSocketFactory(String protocol) throws GeneralSecurityException {
+		String key = TRUST_ALL + protocol;
+		SSLContext context = CONTEXTS.get(key);
+		if(context == null) {
+			context = createContext(protocol, new TrustManager[] { new TrustAllX509TrustManager() });
+			SSLContext existing = CONTEXTS.putIfAbsent(key, context);
+			context = existing == null ? context : existing;
+		}
+		return context.getSocketFactory();
+	}
+
+	/**
+	 * Gets a hostname verifier that accepts any host name.
+	 *
+	 * @return A hostname verifier that accepts all hosts.
+	 */
+	public static HostnameVerifier getTrustAllHostnameVerifier() {
+		return TRUST_ALL_HOSTS;
+	}
+
+	private static SSLContext createContext(String protocol, TrustManager[] trustManagers) throws GeneralSecurityException {
+		SSLContext context;
+		try {
+			context = SSLContext.getInstance(protocol);
+		} catch (NoSuchAlgorithmException e) {
+			context = SSLContext.getInstance(TLS);
+		}
+		context.init(null, trustManagers, null);
+		configureSessions(context);
+		return context;
+	}
+
+	private static void configureSessions(SSLContext context) {
+		SSLSessionContext sessions = context.getClientSessionContext();
+		if(sessions != null) {
+			sessions.setSessionCacheSize(SESSION_CACHE_SIZE);
+			sessions.setSessionTimeout(SESSION_TIMEOUT);
+		}
+	}
+
+	private static class TrustAllX509TrustManager implements X509TrustManager {
+
+		private static final X509Certificate[] NO_CERTIFICATES = new X509Certificate[0];
+
+		@Override
+		public X509Certificate[] getAcceptedIssuers() {
+			return NO_CERTIFICATES;
+		}
+
+		@Override
+		public void checkClientTrusted(X509Certificate[] chain, String authType) {
+			// do nothing
+		}
+
+		@Override
+		public void checkServerTrusted(X509Certificate[] chain, String authType) {
+			// do nothing
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.logging;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.hcl.appscan.sdk.CoreConstants;
+import com.hcl.appscan.sdk.Messages;
+import com.hcl.appscan.sdk.utils.DaemonThreadFactory;
+
+/**
+ * Forwards the output of a process to an {@link IProgress} without letting a slow progress block the process.
+ *
+ * Lines are read on one thread into a bounded queue and delivered on another, each as its own message. The delivering
+ * thread takes up to {@value #BATCH_SIZE} lines each time it wakes up. Each line is classified as it is queued, and
+ * lines that mention an error or a warning are kept apart from the others. When the queue is full the oldest line
+ * that does not mention either is dropped, and the number of dropped lines is reported in their place. The last
+ * {@value #TAIL_SIZE} characters of output are kept for error reporting, whether or not they were delivered.
+ */
+public class ProcessOutputPump {
+
+	private static final int QUEUE_SIZE = 1000;
+	private static final int BATCH_SIZE = 100;
+	private static final int TAIL_SIZE = 64 * 1024;
+	private static final Pattern IMPORTANT = Pattern.compile("error|warn", Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
+
+	private final BufferedReader m_reader;
+	private final IProgress m_progress;
+	// Both queues are in output order. Lines are delivered from whichever has the earlier line first.
+	private final Deque<Line> m_important = new ArrayDeque<Line>();
+	private final Deque<Line> m_verbose = new ArrayDeque<Line>();
+	private long m_sequence;
+	private final Deque<String> m_tail = new ArrayDeque<String>();
+	private int m_tailSize;
+	private int m_dropped;
+	private boolean m_closed;
+	private boolean m_done;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param output The output of the process.
+	 * @param progress The progress to forward the output to.
+	 */
+	public ProcessOutputPump(InputStream output, IProgress progress) {
+		m_reader = new BufferedReader(new InputStreamReader(output));
+		m_progress = progress;
+	}
+
+	/**
+	 * Starts reading and delivering output.
+	 */
+	public void start() {
+		DaemonThreadFactory threads = new DaemonThreadFactory("appscan-output-"); //$NON-NLS-1$
+		threads.newThread(() -> read()).start();
+		threads.newThread(() -> deliver()).start();
+	}
+
+	/**
+	 * Waits until all output has been read and delivered.
+	 *
+	 * @param timeout The maximum time to wait, in milliseconds.
+	 * @return True if all output was delivered, false if the time ran out.
+	 * @throws InterruptedException If the current thread is interrupted.
+	 */
+	public synchronized boolean await(long timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+		while(!m_done) {
+			long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if(remaining <= 0)
+				return false;
+			wait(remaining);
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the last lines of output.
+	 *
+	 * @return The last lines of output, separated by line separators.
+	 */
+	public synchronized String getTail() {
+		return String.join(System.lineSeparator(), m_tail);
+	}
+
+	/**
+	 * Gets the number of lines that were dropped because output was produced faster than it could be delivered.
+	 *
+	 * @return The number of dropped lines.
+	 */
+	public synchronized int getDroppedLines() {
+		return m_dropped;
+	}
+
+	private void read() {
+		try {
+			String line;
+			while((line = m_reader.readLine()) != null)
+				add(line);
+		} catch(IOException e) {
+			m_progress.setStatus(e);
+		} finally {
+			try {
+				m_reader.close();
+			} catch (IOException e) {
+				m_progress.setStatus(e);
+			}
+			synchronized (this) {
+				m_closed = true;
+				notifyAll();
+			}
+		}
+	}
+
+	private synchronized void add(String line) {
+		m_tail.addLast(line);
+		m_tailSize += line.length() + 1;
+		while(m_tailSize > TAIL_SIZE && m_tail.size() > 1)
+			m_tailSize -= m_tail.removeFirst().length() + 1;
+
+		if(m_important.size() + m_verbose.size() >= QUEUE_SIZE) {
+			m_dropped++;
+			(m_verbose.isEmpty() ? m_important : m_verbose).removeFirst();
+		}
+		(IMPORTANT.matcher(line).find() ? m_important : m_verbose).addLast(new Line(m_sequence++, line));
+		notifyAll();
+	}
+
+	/*
+	 * Takes the earliest queued line.
+	 */
+	private String next() {
+		if(m_verbose.isEmpty() || (!m_important.isEmpty() && m_important.peekFirst().m_sequence < m_verbose.peekFirst().m_sequence))
+			return m_important.removeFirst().m_text;
+		return m_verbose.removeFirst().m_text;
+	}
+
+	private void deliver() {
+		int reported = 0;
+		try {
+			while(true) {
+				List<String> batch = new ArrayList<String>();
+				int dropped;
+				synchronized (this) {
+					while(m_important.isEmpty() && m_verbose.isEmpty() && !m_closed)
+						wait();
+					if(m_important.isEmpty() && m_verbose.isEmpty())
+						return;
+					while(batch.size() < BATCH_SIZE && !(m_important.isEmpty() && m_verbose.isEmpty()))
+						batch.add(next());
+					dropped = m_dropped;
+				}
+
+				if(dropped > reported) {
+					m_progress.setStatus(new Message(Message.WARNING, Messages.getMessage(CoreConstants.OUTPUT_LINES_DROPPED, dropped - reported)));
+					reported = dropped;
+				}
+				for(String line : batch)
+					m_progress.setStatus(new Message(Message.INFO, line));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			synchronized (this) {
+				m_done = true;
+				notifyAll();
+			}
+		}
+	}
+
+	private static class Line {
+		private final long m_sequence;
+		private final String m_text;
+
+		private Line(long sequence, String text) {
+			m_sequence = sequence;
+			m_text = text;
+		}
+	}
+}
@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2025.
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -23,9 +23,11 @@ import com.hcl.appscan.sdk.Messages;
 import com.hcl.appscan.sdk.auth.IAuthenticationProvider;
 import com.hcl.appscan.sdk.http.HttpClient;
 import com.hcl.appscan.sdk.http.HttpResponse;
+import com.hcl.appscan.sdk.http.RangedDownload;
 import com.hcl.appscan.sdk.logging.IProgress;
 import com.hcl.appscan.sdk.logging.Message;
 import com.hcl.appscan.sdk.scan.IScanServiceProvider;
+import com.hcl.appscan.sdk.scan.ScanStatusPoller;
 import com.hcl.appscan.sdk.utils.SystemUtil;
 
 public class CloudResultsProvider implements IResultsProvider, Serializable, CoreConstants {
@@ -48,6 +50,7 @@ public class CloudResultsProvider implements IResultsProvider, Serializable, Cor
 	protected int m_lowFindings;
 	protected int m_infoFindings;
 	protected String m_executionId;
+	private transient volatile JSONObject m_polledDetails;
 	
 	public CloudResultsProvider(String scanId, String type, IScanServiceProvider provider, IProgress progress) {
 		this(scanId, null, type, provider, progress);
@@ -163,9 +166,20 @@ public class CloudResultsProvider implements IResultsProvider, Serializable, Cor
 		m_reportFormat = format;
 	}
 	
+	/**
+	 * Gets the status of the scan from a shared poller instead of requesting it each time the status is checked.
+	 * 
+	 * @param poller The poller that watches the scan.
+	 */
+	public void setStatusPoller(ScanStatusPoller poller) {
+		poller.watch(m_scanId, (scanId, status, details, done) -> m_polledDetails = details);
+	}
+	
 	protected void loadResults() {
 		try {
-			JSONObject items = m_scanProvider.getScanDetails(m_scanId);
+			JSONObject items = m_polledDetails;
+			if(items == null)
+				items = m_scanProvider.getScanDetails(m_scanId);
 			JSONObject obj = items.getJSONObject(LATEST_EXECUTION);
 			m_status = obj.getString(STATUS);
 			if(m_status != null && !(m_status.equalsIgnoreCase(INQUEUE) || m_status.equalsIgnoreCase(RUNNING))) {
@@ -204,7 +218,7 @@ public class CloudResultsProvider implements IResultsProvider, Serializable, Cor
 			}
 	
 			destination.getParentFile().mkdirs();
-			response.getResponseBodyAsFile(destination);
+			new RangedDownload(request_url, request_headers, authProvider.getProxy(), authProvider.getacceptInvalidCerts()).download(response, destination);
 		} else {
 			JSONObject object = (JSONObject) response.getResponseBodyAsJSON();
 			if (object.has(MESSAGE)) {
@@ -282,7 +296,7 @@ public class CloudResultsProvider implements IResultsProvider, Serializable, Cor
 			}
 
 			destination.getParentFile().mkdirs();
-			response.getResponseBodyAsFile(destination);
+			new RangedDownload(request_url, request_headers, authProvider.getProxy(), authProvider.getacceptInvalidCerts()).download(response, destination);
 		} else {
 			JSONObject object = (JSONObject) response.getResponseBodyAsJSON();
 			if (object.has(MESSAGE)) {
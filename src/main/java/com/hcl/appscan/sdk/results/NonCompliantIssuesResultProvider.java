@@ -1,5 +1,5 @@
 /**
- * © Copyright HCL Technologies Ltd. 2018, 2025.
+ * © Copyright HCL Technologies Ltd. 2018, 2026.
  */
 package com.hcl.appscan.sdk.results;
 
@@ -7,16 +7,26 @@ import com.hcl.appscan.sdk.Messages;
 import com.hcl.appscan.sdk.auth.IAuthenticationProvider;
 import com.hcl.appscan.sdk.http.HttpClient;
 import com.hcl.appscan.sdk.http.HttpResponse;
+import com.hcl.appscan.sdk.http.IJSONItemHandler;
 import com.hcl.appscan.sdk.logging.IProgress;
 import com.hcl.appscan.sdk.logging.Message;
+import com.hcl.appscan.sdk.scan.AsyncScanServiceProvider;
+import com.hcl.appscan.sdk.scan.CancellationToken;
 import com.hcl.appscan.sdk.scan.IScanServiceProvider;
 import com.hcl.appscan.sdk.utils.SystemUtil;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.UnsupportedEncodingException;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.net.ssl.HttpsURLConnection;
-import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
@@ -27,6 +37,7 @@ import org.apache.wink.json4j.JSONObject;
 public class NonCompliantIssuesResultProvider extends CloudResultsProvider {
 	private static final long serialVersionUID = 1L;
 	private static final String SCOPE = "Scan";
+	private static final long DEFAULT_REPORT_TIMEOUT = 30 * 60;
 
 	public NonCompliantIssuesResultProvider(String scanId, String type, IScanServiceProvider provider,
 			IProgress progress) {
@@ -76,48 +87,23 @@ public class NonCompliantIssuesResultProvider extends CloudResultsProvider {
                     m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(SUSPEND_JOB_BYUSER, "Scan Id: " + m_scanId)));
                     m_message = Messages.getMessage(SUSPEND_JOB_BYUSER, "Scan Id: " + m_scanId);
                 } else if (m_status != null && !(m_status.equalsIgnoreCase(INQUEUE) || m_status.equalsIgnoreCase(RUNNING) || m_status.equalsIgnoreCase(PAUSING))) {
-                    JSONArray array;
+                    // The issue counts are added up as they are read, rather than after the whole response is parsed.
+                    m_totalFindings = 0;
+                    IJSONItemHandler counter = item -> {
+                        if(!(item instanceof JSONObject))
+                            throw new JSONException(String.valueOf(item));
+                        addFindings((JSONObject) item);
+                        return true;
+                    };
+                    boolean read;
                     if(m_executionId != null && !m_executionId.isEmpty()) {
-                        array = m_scanProvider.getNonCompliantIssuesUsingExecutionId(m_executionId);
+                        read = m_scanProvider.getNonCompliantIssuesUsingExecutionId(m_executionId, counter);
                     } else {
-                        array = m_scanProvider.getNonCompliantIssues(m_scanId);
+                        read = m_scanProvider.getNonCompliantIssues(m_scanId, counter);
                     }
-                    m_totalFindings = 0;
 
-                    if(array == null) {
+                    if(!read) {
                         m_status = FAILED;
-                    } else {
-                        for (int i = 0; i < array.length(); i++) {
-                            JSONObject jobj = array.getJSONObject(i);
-                            String sev = jobj.getString("Severity");
-                            int count = jobj.getInt("N");
-
-                            switch (sev.toLowerCase()) {
-                                case "critical":
-                                    m_criticalFindings += count;
-                                    m_totalFindings += count;
-                                    break;
-                                case "high":
-                                    m_highFindings += count;
-                                    m_totalFindings += count;
-                                    break;
-                                case "medium":
-                                    m_mediumFindings += count;
-                                    m_totalFindings += count;
-                                    break;
-                                case "low":
-                                    m_lowFindings += count;
-                                    m_totalFindings += count;
-                                    break;
-                                case "informational":
-                                    m_infoFindings += count;
-                                    m_totalFindings += count;
-                                    break;
-                                default:
-                                    m_totalFindings += count;
-                                    break;
-                            }
-                        }
                     }
                     setHasResult(true);
                     m_message = "";
@@ -131,6 +117,32 @@ public class NonCompliantIssuesResultProvider extends CloudResultsProvider {
 
 	}
 
+	private void addFindings(JSONObject issues) throws JSONException {
+		String sev = issues.getString("Severity");
+		int count = issues.getInt("N");
+
+		switch (sev.toLowerCase()) {
+			case "critical":
+				m_criticalFindings += count;
+				break;
+			case "high":
+				m_highFindings += count;
+				break;
+			case "medium":
+				m_mediumFindings += count;
+				break;
+			case "low":
+				m_lowFindings += count;
+				break;
+			case "informational":
+				m_infoFindings += count;
+				break;
+			default:
+				break;
+		}
+		m_totalFindings += count;
+	}
+
 	@Override
 	protected void getReport(String scanId, String format, File destination) throws IOException, JSONException {
 
@@ -140,22 +152,76 @@ public class NonCompliantIssuesResultProvider extends CloudResultsProvider {
 			return;
 		}
 
-		String status = getReportStatus(reportId);
+		// The report is polled on the shared poller thread. Stop waiting when the current operation is cancelled or
+		// the report takes too long.
+		CancellationToken token = CancellationToken.current();
+		CompletableFuture<String> status = ReportStatusPoller.getPoller(m_scanProvider.getAuthenticationProvider()).watch(reportId);
+		Runnable cancel = () -> status.cancel(false);
+		token.addListener(cancel);
+		try {
+			checkReportStatus(status.get(Math.min(Long.getLong(REPORT_TIMEOUT, DEFAULT_REPORT_TIMEOUT) * 1000, token.getRemaining()), TimeUnit.MILLISECONDS));
+		} catch (TimeoutException e) {
+			status.cancel(false);
+			throw new InterruptedIOException(Messages.getMessage(ERROR_TIMED_OUT));
+		} catch (CancellationException e) {
+			token.check();
+			throw new InterruptedIOException(Messages.getMessage(ERROR_CANCELLED));
+		} catch (InterruptedException e) {
+			status.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getLocalizedMessage());
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+		} finally {
+			token.removeListener(cancel);
+		}
+
+		downloadReport(reportId, format, destination);
+	}
 
-		while (!status.equalsIgnoreCase(READY) && !status.equalsIgnoreCase(FAILED)) {
+	/**
+	 * Generates and downloads the report without tying up a thread while the report is generated, so reports for
+	 * many scans can be requested at once. Requests run on {@link AsyncScanServiceProvider#getDefaultExecutor()}.
+	 * As with {@link #getResultsFile(File, String)}, the future fails if the report is not generated within the
+	 * time given by the {@value #REPORT_TIMEOUT} system property.
+	 *
+	 * @param destination The file or directory to save the report to.
+	 * @param format The report format, or null for the default format.
+	 * @return A future that completes with the report file.
+	 */
+	public CompletableFuture<File> getResultsFileAsync(File destination, String format) {
+		String reportFormat = format == null ? getResultsFormat() : format;
+		Executor executor = AsyncScanServiceProvider.getDefaultExecutor();
+		return CompletableFuture.supplyAsync(() -> {
 			try {
-				Thread.sleep(3000);
-				status = getReportStatus(reportId);
-			} catch (InterruptedException e) {
-				// ignore
+				String reportId = createNonCompliantIssuesReport(m_scanId, reportFormat);
+				if (reportId == null)
+					throw new IOException(Messages.getMessage(ERROR_GENERATING_REPORT, m_scanId));
+				return reportId;
+			} catch (IOException | JSONException e) {
+				throw new CompletionException(e);
 			}
-		}
+		}, executor).thenCompose(reportId -> ReportStatusPoller.getPoller(m_scanProvider.getAuthenticationProvider())
+				.watch(reportId, Long.getLong(REPORT_TIMEOUT, DEFAULT_REPORT_TIMEOUT) * 1000).thenApplyAsync(status -> {
+					try {
+						checkReportStatus(status);
+						return downloadReport(reportId, reportFormat, destination);
+					} catch (IOException | JSONException e) {
+						throw new CompletionException(e);
+					}
+				}, executor));
+	}
 
-		if (!status.equalsIgnoreCase(READY)) {
+	private void checkReportStatus(String status) throws IOException {
+		if (!READY.equalsIgnoreCase(status)) {
 			throw new IOException("error.getting.issues");
 		}
+	}
 
+	private File downloadReport(String reportId, String format, File destination) throws IOException, JSONException {
 		HttpResponse response = downloadNonCompliantIssuesReport(reportId);
+		if (response == null)
+			throw new IOException(Messages.getMessage(ERROR_GETTING_RESULT));
 		if (destination.isDirectory()) {
 			String fileName = DEFAULT_RESULT_NAME + "_" + SystemUtil.getTimeStamp() + "." + format; //$NON-NLS-1$ //$NON-NLS-2$
 			destination = new File(destination, fileName);
@@ -163,6 +229,7 @@ public class NonCompliantIssuesResultProvider extends CloudResultsProvider {
 
 		destination.getParentFile().mkdirs();
 		response.getResponseBodyAsFile(destination);
+		return destination;
 	}
 
 	private HttpResponse downloadNonCompliantIssuesReport(String reportId) throws IOException, JSONException {
@@ -0,0 +1,262 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.results;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.HttpsURLConnection;
+
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+
+import com.hcl.appscan.sdk.CoreConstants;
+import com.hcl.appscan.sdk.Messages;
+import com.hcl.appscan.sdk.auth.IAuthenticationProvider;
+import com.hcl.appscan.sdk.http.HttpClient;
+import com.hcl.appscan.sdk.http.HttpResponse;
+import com.hcl.appscan.sdk.utils.DaemonThreadFactory;
+
+/**
+ * Waits for many reports to be generated without a thread per report. Reports that are due are queried together in
+ * batches with a single $filter=Id in (...) request on a shared scheduler thread. Each report is first polled after
+ * {@value #INITIAL_INTERVAL} seconds, and the interval doubles up to {@value #MAX_INTERVAL} seconds while its status
+ * stays the same. The future returned by {@link #watch(String)} completes with the final status of the report.
+ */
+public class ReportStatusPoller implements CoreConstants {
+
+	public static final int INITIAL_INTERVAL = 2;
+	public static final int MAX_INTERVAL = 30;
+
+	private static final int BATCH_SIZE = 50;
+	private static final int MAX_FAILURES = 5;
+	private static final long TICK = 1000;
+
+	private static final Map<IAuthenticationProvider, ReportStatusPoller> s_pollers = new ConcurrentHashMap<IAuthenticationProvider, ReportStatusPoller>();
+	private static ScheduledExecutorService s_scheduler;
+
+	private final IAuthenticationProvider m_authProvider;
+	private final Map<String, PendingReport> m_reports = new ConcurrentHashMap<String, PendingReport>();
+	private ScheduledFuture<?> m_task;
+	private boolean m_useInFilter = true;
+
+	private ReportStatusPoller(IAuthenticationProvider authProvider) {
+		m_authProvider = authProvider;
+	}
+
+	/**
+	 * Gets the poller for a service. Pollers only use the scheduler thread, and are only kept, while they have
+	 * pending reports.
+	 *
+	 * @param authProvider The authentication provider for the service.
+	 * @return The shared poller for the service.
+	 */
+	public static ReportStatusPoller getPoller(IAuthenticationProvider authProvider) {
+		return s_pollers.computeIfAbsent(authProvider, provider -> new ReportStatusPoller(provider));
+	}
+
+	/**
+	 * Starts watching a report.
+	 *
+	 * @param reportId The id of the report.
+	 * @return A future that completes with the status "Ready" or "Failed" once the report is generated. Cancel the
+	 * future to stop watching the report.
+	 */
+	public CompletableFuture<String> watch(String reportId) {
+		PendingReport report = m_reports.computeIfAbsent(reportId.toLowerCase(), id -> new PendingReport());
+		synchronized (this) {
+			if(m_task == null)
+				m_task = getScheduler().scheduleWithFixedDelay(() -> poll(), TICK, TICK, TimeUnit.MILLISECONDS);
+		}
+		return report.m_future;
+	}
+
+	/**
+	 * Starts watching a report, giving up if it is not generated in time.
+	 *
+	 * @param reportId The id of the report.
+	 * @param timeout The time to wait for the report, in milliseconds.
+	 * @return A future that completes with the status "Ready" or "Failed" once the report is generated, or
+	 * exceptionally with an {@link InterruptedIOException} if the timeout elapses first.
+	 */
+	public CompletableFuture<String> watch(String reportId, long timeout) {
+		CompletableFuture<String> future = watch(reportId);
+		ScheduledFuture<?> timer = getScheduler().schedule(() -> fail(reportId.toLowerCase(),
+				new InterruptedIOException(Messages.getMessage(ERROR_TIMED_OUT))), timeout, TimeUnit.MILLISECONDS);
+		future.whenComplete((status, error) -> timer.cancel(false));
+		return future;
+	}
+
+	/*
+	 * Any exception escaping this method would stop the scheduler from running it again, so none is let through.
+	 */
+	private void poll() {
+		long now = System.currentTimeMillis();
+		List<String> due = new ArrayList<String>();
+		for(Map.Entry<String, PendingReport> entry : m_reports.entrySet()) {
+			if(entry.getValue().m_future.isDone())
+				m_reports.remove(entry.getKey());
+			else if(entry.getValue().m_nextPoll <= now)
+				due.add(entry.getKey());
+		}
+
+		if(!due.isEmpty())
+			pollDue(due);
+
+		synchronized (this) {
+			if(m_reports.isEmpty() && m_task != null) {
+				m_task.cancel(false);
+				m_task = null;
+				s_pollers.remove(m_authProvider, this);
+			}
+		}
+	}
+
+	/*
+	 * Polls the reports that are due, unless the login has expired. The token is only checked when a report is due.
+	 */
+	private void pollDue(List<String> due) {
+		boolean expired;
+		try {
+			expired = m_authProvider.isTokenExpired();
+		} catch (RuntimeException e) {
+			expired = false;
+		}
+
+		if(expired) {
+			for(String reportId : due)
+				fail(reportId, new IOException(Messages.getMessage(ERROR_LOGIN_EXPIRED)));
+		}
+		else {
+			for(int i = 0; i < due.size(); i += BATCH_SIZE) {
+				List<String> batch = due.subList(i, Math.min(i + BATCH_SIZE, due.size()));
+				Map<String, String> statuses;
+				try {
+					statuses = getReportStatuses(batch);
+				} catch (IOException | JSONException | RuntimeException e) {
+					// Every report in the batch is treated as a failed poll.
+					statuses = Collections.emptyMap();
+				}
+				for(String reportId : batch)
+					update(reportId, statuses.get(reportId));
+			}
+		}
+	}
+
+	/*
+	 * Records the result of a poll, completes the future if the report is done and schedules the next poll.
+	 */
+	private void update(String reportId, String status) {
+		PendingReport report = m_reports.get(reportId);
+		if(report == null)
+			return;
+
+		if(status == null) {
+			if(++report.m_failures >= MAX_FAILURES)
+				fail(reportId, new IOException(Messages.getMessage(ERROR_GENERATING_REPORT, reportId)));
+			else
+				report.backOff();
+			return;
+		}
+
+		report.m_failures = 0;
+		if(READY.equalsIgnoreCase(status) || FAILED.equalsIgnoreCase(status)) {
+			m_reports.remove(reportId);
+			report.m_future.complete(status);
+		}
+		else if(!status.equals(report.m_status)) {
+			report.m_status = status;
+			report.m_interval = INITIAL_INTERVAL * 1000L;
+			report.m_nextPoll = System.currentTimeMillis() + report.m_interval;
+		}
+		else {
+			report.backOff();
+		}
+	}
+
+	private void fail(String reportId, Throwable error) {
+		PendingReport report = m_reports.remove(reportId);
+		if(report != null)
+			report.m_future.completeExceptionally(error);
+	}
+
+	/*
+	 * Gets the status of several reports in a single request, keyed by lower case report id.
+	 */
+	private Map<String, String> getReportStatuses(List<String> reportIds) throws IOException, JSONException {
+		Map<String, String> headers = m_authProvider.getAuthorizationHeader(true);
+		headers.put(CONTENT_LENGTH, "0"); //$NON-NLS-1$
+		HttpClient client = new HttpClient(m_authProvider.getProxy(), m_authProvider.getacceptInvalidCerts());
+		HttpResponse response = client.get(getRequestUrl(reportIds), headers, null);
+		if(response.getResponseCode() == HttpsURLConnection.HTTP_BAD_REQUEST && m_useInFilter && reportIds.size() > 1) {
+			// Older servers do not support the "in" operator.
+			response.close();
+			m_useInFilter = false;
+			response = client.get(getRequestUrl(reportIds), headers, null);
+		}
+
+		try {
+			if(!response.isSuccess())
+				throw new IOException(response.getResponseCode() + " " + response.getResponseBodyAsString()); //$NON-NLS-1$
+
+			Map<String, String> statuses = new HashMap<String, String>();
+			JSONArray items = ((JSONObject) response.getResponseBodyAsJSON()).getJSONArray(ITEMS);
+			for(int i = 0; i < items.size(); i++) {
+				JSONObject item = items.getJSONObject(i);
+				statuses.put(item.getString(ID).toLowerCase(), item.getString(STATUS));
+			}
+			return statuses;
+		} finally {
+			response.close();
+		}
+	}
+
+	private String getRequestUrl(List<String> reportIds) {
+		StringBuilder filter = new StringBuilder();
+		if(m_useInFilter && reportIds.size() > 1) {
+			filter.append("Id%20in%20("); //$NON-NLS-1$
+			for(int i = 0; i < reportIds.size(); i++)
+				filter.append(i == 0 ? "" : ",").append(reportIds.get(i)); //$NON-NLS-1$ //$NON-NLS-2$
+			filter.append(')');
+		}
+		else {
+			for(int i = 0; i < reportIds.size(); i++)
+				filter.append(i == 0 ? "" : "%20or%20").append("Id%20eq%20").append(reportIds.get(i)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return m_authProvider.getServer() + API_REPORT_STATUS + "?%24top=" + reportIds.size() + "&%24filter=" + filter + "&%24count=false"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private static synchronized ScheduledExecutorService getScheduler() {
+		if(s_scheduler == null)
+			s_scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("appscan-reports-")); //$NON-NLS-1$
+		return s_scheduler;
+	}
+
+	private static class PendingReport {
+		private final CompletableFuture<String> m_future = new CompletableFuture<String>();
+		private String m_status;
+		private int m_failures;
+		private long m_interval = INITIAL_INTERVAL * 1000L;
+		private long m_nextPoll = System.currentTimeMillis() + m_interval;
+
+		private void backOff() {
+			m_interval = Math.min(m_interval * 2, MAX_INTERVAL * 1000L);
+			m_nextPoll = System.currentTimeMillis() + m_interval;
+		}
+	}
+}
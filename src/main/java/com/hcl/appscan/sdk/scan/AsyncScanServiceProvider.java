@@ -0,0 +1,136 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scan;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONObject;
+
+import com.hcl.appscan.sdk.utils.DaemonThreadFactory;
+
+/**
+ * Adapts a blocking {@link IScanServiceProvider} to the {@link IAsyncScanServiceProvider} interface.
+ * Requests run on a bounded, shared pool of I/O threads so that many concurrent scans do not each tie up a thread
+ * of the caller. The size of the shared pool can be set with the {@value #POOL_SIZE} system property.
+ */
+public class AsyncScanServiceProvider implements IAsyncScanServiceProvider {
+
+	public static final String POOL_SIZE = "asyncPoolSize"; //$NON-NLS-1$
+
+	private static final int DEFAULT_POOL_SIZE = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private static ExecutorService s_defaultExecutor;
+
+	private final IScanServiceProvider m_provider;
+	private final Executor m_executor;
+
+	/**
+	 * Constructor. Requests run on the shared I/O pool.
+	 *
+	 * @param provider The blocking provider to adapt.
+	 */
+	public AsyncScanServiceProvider(IScanServiceProvider provider) {
+		this(provider, getDefaultExecutor());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param provider The blocking provider to adapt.
+	 * @param executor The executor used to run requests.
+	 */
+	public AsyncScanServiceProvider(IScanServiceProvider provider, Executor executor) {
+		m_provider = provider;
+		m_executor = executor;
+	}
+
+	/**
+	 * Gets the shared pool used to run asynchronous requests. Threads are daemon threads and are released when idle.
+	 *
+	 * @return The shared executor.
+	 */
+	public static synchronized ExecutorService getDefaultExecutor() {
+		if(s_defaultExecutor == null) {
+			int size = Integer.getInteger(POOL_SIZE, DEFAULT_POOL_SIZE);
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("appscan-async-")); //$NON-NLS-1$
+			executor.allowCoreThreadTimeOut(true);
+			s_defaultExecutor = executor;
+		}
+		return s_defaultExecutor;
+	}
+
+	/**
+	 * Gets the blocking provider used by this adapter.
+	 *
+	 * @return The blocking {@link IScanServiceProvider}.
+	 */
+	public IScanServiceProvider getServiceProvider() {
+		return m_provider;
+	}
+
+	@Override
+	public CompletableFuture<String> createAndExecuteScanAsync(String type, Map<String, String> params) {
+		return supply(() -> m_provider.createAndExecuteScan(type, params));
+	}
+
+	@Override
+	public CompletableFuture<String> rescanAsync(String scanId, Map<String, String> params) {
+		return supply(() -> m_provider.rescan(scanId, params));
+	}
+
+	@Override
+	public CompletableFuture<String> submitFileAsync(File file) {
+		return supply(() -> m_provider.submitFile(file));
+	}
+
+	@Override
+	public CompletableFuture<JSONObject> getScanDetailsAsync(String scanId) {
+		return supply(() -> m_provider.getScanDetails(scanId));
+	}
+
+	@Override
+	public CompletableFuture<JSONArray> getNonCompliantIssuesAsync(String scanId) {
+		return supply(() -> m_provider.getNonCompliantIssues(scanId));
+	}
+
+	@Override
+	public CompletableFuture<JSONArray> getNonCompliantIssuesUsingExecutionIdAsync(String executionId) {
+		return supply(() -> m_provider.getNonCompliantIssuesUsingExecutionId(executionId));
+	}
+
+	@Override
+	public CompletableFuture<JSONArray> getBaseScanDetailsAsync(String scanId) {
+		return supply(() -> m_provider.getBaseScanDetails(scanId));
+	}
+
+	/*
+	 * Runs the request on the executor, completing the future exceptionally with whatever the request throws.
+	 */
+	private <T> CompletableFuture<T> supply(Callable<T> request) {
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		m_executor.execute(() -> {
+			if(future.isDone())
+				return;
+			try {
+				future.complete(request.call());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+}
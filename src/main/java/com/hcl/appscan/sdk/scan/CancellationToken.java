@@ -0,0 +1,198 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scan;
+
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.hcl.appscan.sdk.CoreConstants;
+import com.hcl.appscan.sdk.Messages;
+import com.hcl.appscan.sdk.utils.DaemonThreadFactory;
+
+/**
+ * Lets a long running operation be cancelled, either explicitly or when its deadline passes.
+ *
+ * A token is bound to the current thread with {@link #bind()}, as {@link IScan#run(CancellationToken)} does, so the
+ * code it runs can check it with {@link #current()} without it being passed along: SAClientUtil processes are
+ * destroyed, HTTP timeouts are capped at the time remaining and report polling stops once the token is cancelled.
+ * Work handed to other threads has to bind the token there as well.
+ */
+public class CancellationToken {
+
+	/**
+	 * A token that is never cancelled.
+	 */
+	public static final CancellationToken NONE = new CancellationToken();
+
+	private static final ThreadLocal<CancellationToken> s_current = new ThreadLocal<CancellationToken>();
+	private static ScheduledExecutorService s_deadlines;
+
+	private final List<Runnable> m_listeners = new CopyOnWriteArrayList<Runnable>();
+	private final long m_deadline;
+	private volatile boolean m_cancelled;
+	private volatile boolean m_timedOut;
+
+	/**
+	 * Creates a token without a deadline.
+	 */
+	public CancellationToken() {
+		m_deadline = Long.MAX_VALUE;
+	}
+
+	/**
+	 * Creates a token that is cancelled once the timeout expires.
+	 *
+	 * @param timeout The timeout, in milliseconds.
+	 */
+	public CancellationToken(long timeout) {
+		m_deadline = System.currentTimeMillis() + timeout;
+		getDeadlines().schedule(() -> cancel(true), timeout, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Gets the token bound to the current thread.
+	 *
+	 * @return The token bound to the current thread, or {@link #NONE}.
+	 */
+	public static CancellationToken current() {
+		CancellationToken token = s_current.get();
+		return token == null ? NONE : token;
+	}
+
+	/**
+	 * Binds this token to the current thread until the returned scope is closed.
+	 *
+	 * @return The scope, which restores the previously bound token when closed.
+	 */
+	public Scope bind() {
+		CancellationToken previous = s_current.get();
+		s_current.set(this);
+		return () -> s_current.set(previous);
+	}
+
+	/**
+	 * Cancels the operation. Listeners are notified on the calling thread. {@link #NONE} cannot be cancelled.
+	 */
+	public void cancel() {
+		cancel(false);
+	}
+
+	private void cancel(boolean timedOut) {
+		synchronized (this) {
+			if(m_cancelled || this == NONE)
+				return;
+			m_timedOut = timedOut;
+			m_cancelled = true;
+		}
+		for(Runnable listener : m_listeners) {
+			if(m_listeners.remove(listener))
+				listener.run();
+		}
+	}
+
+	/**
+	 * Checks if the operation was cancelled or its deadline passed.
+	 *
+	 * @return True if the operation was cancelled.
+	 */
+	public boolean isCancelled() {
+		if(!m_cancelled && System.currentTimeMillis() >= m_deadline)
+			cancel(true);
+		return m_cancelled;
+	}
+
+	/**
+	 * Gets the time left before the deadline.
+	 *
+	 * @return The remaining time in milliseconds, 0 if the token is cancelled, or {@link Long#MAX_VALUE} if there is no deadline.
+	 */
+	public long getRemaining() {
+		if(isCancelled())
+			return 0;
+		return m_deadline == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, m_deadline - System.currentTimeMillis());
+	}
+
+	/**
+	 * Throws if the operation was cancelled.
+	 *
+	 * @throws InterruptedIOException If the operation was cancelled or its deadline passed.
+	 */
+	public void check() throws InterruptedIOException {
+		if(isCancelled())
+			throw new InterruptedIOException(Messages.getMessage(m_timedOut ? CoreConstants.ERROR_TIMED_OUT : CoreConstants.ERROR_CANCELLED));
+	}
+
+	/**
+	 * Sleeps for the given time, waking up as soon as the token is cancelled.
+	 *
+	 * @param millis The time to sleep, in milliseconds.
+	 * @throws InterruptedIOException If the operation was cancelled or the thread was interrupted.
+	 */
+	public void sleep(long millis) throws InterruptedIOException {
+		Object monitor = new Object();
+		Runnable wake = () -> {
+			synchronized (monitor) {
+				monitor.notifyAll();
+			}
+		};
+		addListener(wake);
+		try {
+			long end = System.currentTimeMillis() + millis;
+			synchronized (monitor) {
+				long remaining;
+				while(!isCancelled() && (remaining = end - System.currentTimeMillis()) > 0)
+					monitor.wait(Math.min(remaining, getRemaining()) + 1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getLocalizedMessage());
+		} finally {
+			removeListener(wake);
+		}
+		check();
+	}
+
+	/**
+	 * Adds a listener that is run when the token is cancelled. If it already is, the listener is run right away.
+	 *
+	 * @param listener The listener.
+	 */
+	public void addListener(Runnable listener) {
+		if(this == NONE)
+			return;
+		m_listeners.add(listener);
+		if(m_cancelled && m_listeners.remove(listener))
+			listener.run();
+	}
+
+	/**
+	 * Removes a listener.
+	 *
+	 * @param listener The listener to remove.
+	 */
+	public void removeListener(Runnable listener) {
+		m_listeners.remove(listener);
+	}
+
+	private static synchronized ScheduledExecutorService getDeadlines() {
+		if(s_deadlines == null)
+			s_deadlines = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("appscan-deadline-")); //$NON-NLS-1$
+		return s_deadlines;
+	}
+
+	/**
+	 * The binding of a token to a thread.
+	 */
+	public interface Scope extends AutoCloseable {
+
+		@Override
+		void close();
+	}
+}
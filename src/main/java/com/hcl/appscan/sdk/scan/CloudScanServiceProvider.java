@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2024.
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -8,6 +8,7 @@ package com.hcl.appscan.sdk.scan;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -15,11 +16,13 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 
 import javax.net.ssl.HttpsURLConnection;
 
 import com.hcl.appscan.sdk.logging.DefaultProgress;
 import com.hcl.appscan.sdk.scanners.dynamic.DASTConstants;
+import com.hcl.appscan.sdk.utils.ArchiveUtil;
 import com.hcl.appscan.sdk.utils.FileUtil;
 import com.hcl.appscan.sdk.utils.ServiceUtil;
 import org.apache.wink.json4j.JSONArray;
@@ -35,16 +38,18 @@ import com.hcl.appscan.sdk.auth.IAuthenticationProvider;
 import com.hcl.appscan.sdk.http.HttpClient;
 import com.hcl.appscan.sdk.http.HttpPart;
 import com.hcl.appscan.sdk.http.HttpResponse;
+import com.hcl.appscan.sdk.http.IJSONItemHandler;
 import com.hcl.appscan.sdk.logging.IProgress;
 import com.hcl.appscan.sdk.logging.Message;
 import com.hcl.appscan.sdk.scanners.sast.SASTConstants;
 
-public class CloudScanServiceProvider implements IScanServiceProvider, Serializable, CoreConstants {
+public class CloudScanServiceProvider implements IScanServiceProvider, IAsyncScanServiceProvider, Serializable, CoreConstants {
 
 	private static final long serialVersionUID = 1L;
 
 	private IProgress m_progress;
 	private IAuthenticationProvider m_authProvider;
+	private transient AsyncScanServiceProvider m_asyncProvider;
     private static final String[] DAST_FILES_EXTENSIONS = {DASTConstants.SCAN_EXTENSION, DASTConstants.SCANT_EXTENSION, DASTConstants.CONFIG_EXTENSION};
 	
 	public CloudScanServiceProvider(IProgress progress, IAuthenticationProvider authProvider) {
@@ -161,6 +166,42 @@ public class CloudScanServiceProvider implements IScanServiceProvider, Serializa
 		   return null;
 	  }
 	
+	/**
+	 * Zips a folder and submits the archive for scanning. The archive is uploaded while it is being created, so
+	 * compression and upload overlap and no copy of the archive is written to disk.
+	 *
+	 * @param folder The folder to submit.
+	 * @param fileName The file name to give the archive.
+	 * @return The id of the submitted file.
+	 * @throws IOException If an error occurs.
+	 */
+	public String submitFolder(File folder, String fileName) throws IOException {
+		if(loginExpired())
+			return null;
+
+		m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(UPLOADING_FILE, folder.getAbsolutePath())));
+		String fileUploadAPI = m_authProvider.getServer() + API_FILE_UPLOAD + "?fileType=SourceCodeArchive"; //$NON-NLS-1$
+
+		InputStream archive = ArchiveUtil.zipFileOrFolderAsStream(folder);
+		try {
+			List<HttpPart> parts = new ArrayList<HttpPart>();
+			parts.add(new HttpPart(CoreConstants.UPLOADED_FILE, fileName, "multipart/form-data", archive)); //$NON-NLS-1$
+			HttpClient client = new HttpClient(m_authProvider.getProxy(), m_authProvider.getacceptInvalidCerts());
+			HttpResponse response = client.postMultipart(fileUploadAPI, m_authProvider.getAuthorizationHeader(true), parts);
+			JSONObject object = (JSONObject) response.getResponseBodyAsJSON();
+
+			if (object.has(MESSAGE))
+				m_progress.setStatus(new Message(Message.ERROR, object.getString(MESSAGE)));
+			else
+				return object.getString(FILE_ID);
+		} catch (JSONException e) {
+			m_progress.setStatus(new Message(Message.ERROR, Messages.getMessage(ERROR_UPLOADING_FILE, folder, e.getLocalizedMessage())));
+		} finally {
+			archive.close();
+		}
+		return null;
+	}
+
 	@Override
 	public JSONObject getScanDetails(String scanId) throws IOException, JSONException {
 		if(loginExpired())
@@ -229,18 +270,30 @@ public class CloudScanServiceProvider implements IScanServiceProvider, Serializa
 	
 	@Override
 	public JSONArray getNonCompliantIssues(String scanId) throws IOException, JSONException {
-        return getNonCompliantIssues("Scan", scanId);
+        JSONArray items = new JSONArray();
+        return getNonCompliantIssues("Scan", scanId, item -> items.add(item)) ? items : null;
 	}
 
 	@Override
 	public JSONArray getNonCompliantIssuesUsingExecutionId(String executionId) throws IOException, JSONException {
-        return getNonCompliantIssues("ScanExecution", executionId);
+        JSONArray items = new JSONArray();
+        return getNonCompliantIssues("ScanExecution", executionId, item -> items.add(item)) ? items : null;
+	}
+
+	@Override
+	public boolean getNonCompliantIssues(String scanId, IJSONItemHandler handler) throws IOException, JSONException {
+        return getNonCompliantIssues("Scan", scanId, handler);
+	}
+
+	@Override
+	public boolean getNonCompliantIssuesUsingExecutionId(String executionId, IJSONItemHandler handler) throws IOException, JSONException {
+        return getNonCompliantIssues("ScanExecution", executionId, handler);
 	}
 
     //private method to handle common logic
-    private JSONArray getNonCompliantIssues(String idType, String id) throws IOException, JSONException {
+    private boolean getNonCompliantIssues(String idType, String id, IJSONItemHandler handler) throws IOException, JSONException {
         if (loginExpired())
-            return null;
+            return false;
 
         String requestUrl = m_authProvider.getServer() + String.format(API_ISSUES_COUNT, idType, id);
         requestUrl += "?applyPolicies=All&%24filter=Status%20eq%20%27Open%27%20or%20Status%20eq%20%27InProgress%27%20or%20Status%20eq%20%27Reopened%27&%24apply=groupby%28%28Status%2CSeverity%29%2Caggregate%28%24count%20as%20N%29%29";
@@ -253,8 +306,8 @@ public class CloudScanServiceProvider implements IScanServiceProvider, Serializa
         HttpResponse response = client.get(requestUrl, requestHeaders, null);
 
         if (response.isSuccess()) {
-            JSONObject json = (JSONObject) response.getResponseBodyAsJSON();
-            return (JSONArray) json.getJSONArray("Items");
+            response.getResponseBodyAsJSONItems(ITEMS, handler);
+            return true;
         }
 
         if (response.getResponseCode() == HttpsURLConnection.HTTP_BAD_REQUEST) {
@@ -268,7 +321,7 @@ public class CloudScanServiceProvider implements IScanServiceProvider, Serializa
             }
         }
 
-        return null;
+        return false;
     }
 	
 	@Override
@@ -325,6 +378,50 @@ public class CloudScanServiceProvider implements IScanServiceProvider, Serializa
 		return null;
 	}
 
+	@Override
+	public CompletableFuture<String> createAndExecuteScanAsync(String type, Map<String, String> params) {
+		return getAsyncProvider().createAndExecuteScanAsync(type, params);
+	}
+
+	@Override
+	public CompletableFuture<String> rescanAsync(String scanId, Map<String, String> params) {
+		return getAsyncProvider().rescanAsync(scanId, params);
+	}
+
+	@Override
+	public CompletableFuture<String> submitFileAsync(File file) {
+		return getAsyncProvider().submitFileAsync(file);
+	}
+
+	@Override
+	public CompletableFuture<JSONObject> getScanDetailsAsync(String scanId) {
+		return getAsyncProvider().getScanDetailsAsync(scanId);
+	}
+
+	@Override
+	public CompletableFuture<JSONArray> getNonCompliantIssuesAsync(String scanId) {
+		return getAsyncProvider().getNonCompliantIssuesAsync(scanId);
+	}
+
+	@Override
+	public CompletableFuture<JSONArray> getNonCompliantIssuesUsingExecutionIdAsync(String executionId) {
+		return getAsyncProvider().getNonCompliantIssuesUsingExecutionIdAsync(executionId);
+	}
+
+	@Override
+	public CompletableFuture<JSONArray> getBaseScanDetailsAsync(String scanId) {
+		return getAsyncProvider().getBaseScanDetailsAsync(scanId);
+	}
+
+	/*
+	 * Gets the adapter that runs the blocking methods of this provider on the shared I/O pool.
+	 */
+	private synchronized AsyncScanServiceProvider getAsyncProvider() {
+		if(m_asyncProvider == null)
+			m_asyncProvider = new AsyncScanServiceProvider(this);
+		return m_asyncProvider;
+	}
+
 	public void updateScanData(Map<String, String> params, String scanId) {
 		if (loginExpired()) {
 			return;
@@ -341,6 +438,7 @@ public class CloudScanServiceProvider implements IScanServiceProvider, Serializa
 			if (response.getResponseCode() == HttpsURLConnection.HTTP_NO_CONTENT) {
 				m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(UPDATE_JOB)));
 			}
+			response.close();
 		} catch (IOException | JSONException e) {
 			m_progress.setStatus(new Message(Message.ERROR, Messages.getMessage(ERROR_UPDATE_JOB, e.getLocalizedMessage())));
 		}
@@ -0,0 +1,79 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scan;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * An asynchronous provider of scanning services. Each method returns immediately with a {@link CompletableFuture}
+ * that is completed when the request finishes. A future that fails is completed exceptionally with the
+ * IOException or JSONException thrown by the corresponding {@link IScanServiceProvider} method.
+ */
+public interface IAsyncScanServiceProvider {
+
+	/**
+	 * Creates and executes a scan.
+	 *
+	 * @param type The type of scan to execute. For example DynamicAnalyzer, MobileAnalyzer, or StaticAnalyzer.
+	 * @param params A Map of scan parameters.
+	 * @return A future for the id of the submitted scan. The id is null if the scan could not be created.
+	 */
+	public CompletableFuture<String> createAndExecuteScanAsync(String type, Map<String, String> params);
+
+	/**
+	 * Initiates a Rescan
+	 *
+	 * @param scanId The ID of the parent scan on which the rescan will be executed.
+	 * @param params A Map of rescan parameters.
+	 * @return A future for the id of the submitted rescan. The id is null if the rescan could not be created.
+	 */
+	public CompletableFuture<String> rescanAsync(String scanId, Map<String, String> params);
+
+	/**
+	 * Submits a file for scanning.
+	 *
+	 * @param file The file to submit.
+	 * @return A future for the id of the submitted file.
+	 */
+	public CompletableFuture<String> submitFileAsync(File file);
+
+	/**
+	 * Gets the detailed description of a scan in JSON format.
+	 *
+	 * @param scanId The id of the scan to retrieve the description.
+	 * @return A future for the detailed description in JSON.
+	 */
+	public CompletableFuture<JSONObject> getScanDetailsAsync(String scanId);
+
+	/**
+	 * Gets the non compliant issues in JSON format.
+	 *
+	 * @param scanId The id of the scan to retrieve all the non compliant issues.
+	 * @return A future for the issues as JSON objects.
+	 */
+	public CompletableFuture<JSONArray> getNonCompliantIssuesAsync(String scanId);
+
+	/**
+	 * Gets the non compliant issues in JSON format.
+	 *
+	 * @param executionId The id of the scan execution to retrieve all the non compliant issues
+	 * @return A future for the issues as JSON objects.
+	 */
+	public CompletableFuture<JSONArray> getNonCompliantIssuesUsingExecutionIdAsync(String executionId);
+
+	/**
+	 * Fetch the details of all the executions of a scan.
+	 *
+	 * @param scanId The scanId to test
+	 * @return A future for the execution details.
+	 */
+	public CompletableFuture<JSONArray> getBaseScanDetailsAsync(String scanId);
+}
@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2024. 
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -20,6 +20,20 @@ public interface IScan {
 	 */
 	public void run() throws ScannerException, InvalidTargetException;
 	
+	/**
+	 * Runs a scan, giving up once the token is cancelled. The token is bound to the current thread while the scan
+	 * runs, so SAClientUtil processes, HTTP requests and report polling stop when it is cancelled.
+	 * 
+	 * @param token The {@link CancellationToken} for the scan.
+	 * @throws ScannerException if a fatal error occurs in the scan, or if it was cancelled.
+	 * @throws InvalidTargetException if the target is invalid.
+	 */
+	public default void run(CancellationToken token) throws ScannerException, InvalidTargetException {
+		try (CancellationToken.Scope scope = token.bind()) {
+			run();
+		}
+	}
+	
 	/**
 	 * Gets the id of the scan.
 	 * 
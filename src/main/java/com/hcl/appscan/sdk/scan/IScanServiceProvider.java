@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017,2024.
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -11,10 +11,12 @@ import java.io.IOException;
 import java.util.Map;
 
 import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONArtifact;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
 import com.hcl.appscan.sdk.auth.IAuthenticationProvider;
+import com.hcl.appscan.sdk.http.IJSONItemHandler;
 import com.hcl.appscan.sdk.logging.IProgress;
 
 /**
@@ -78,6 +80,47 @@ public interface IScanServiceProvider {
 	 * @throws JSONException If an error occurs.
 	 */
 	public JSONArray getNonCompliantIssuesUsingExecutionId(String executionId) throws IOException, JSONException;
+
+	/**
+	 * Reads the non compliant issues one at a time, so that they do not all have to be held in memory.
+	 *
+	 * @param scanId The id of the scan to retrieve all the non compliant issues.
+	 * @param handler The handler for each issue.
+	 * @return True if the issues were read, false if they could not be retrieved.
+	 * @throws IOException If an error occurs.
+	 * @throws JSONException If an error occurs.
+	 */
+	public default boolean getNonCompliantIssues(String scanId, IJSONItemHandler handler) throws IOException, JSONException {
+		JSONArray items = getNonCompliantIssues(scanId);
+		if(items == null)
+			return false;
+		for(int i = 0; i < items.length(); i++) {
+			if(!handler.handle((JSONArtifact) items.get(i)))
+				break;
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the non compliant issues one at a time, so that they do not all have to be held in memory.
+	 *
+	 * @param executionId The id of the scan execution to retrieve all the non compliant issues.
+	 * @param handler The handler for each issue.
+	 * @return True if the issues were read, false if they could not be retrieved.
+	 * @throws IOException If an error occurs.
+	 * @throws JSONException If an error occurs.
+	 */
+	public default boolean getNonCompliantIssuesUsingExecutionId(String executionId, IJSONItemHandler handler) throws IOException, JSONException {
+		JSONArray items = getNonCompliantIssuesUsingExecutionId(executionId);
+		if(items == null)
+			return false;
+		for(int i = 0; i < items.length(); i++) {
+			if(!handler.handle((JSONArtifact) items.get(i)))
+				break;
+		}
+		return true;
+	}
+
 	/**
 	 * Gets the {@link IAuthenticationProvider} used to authenticate with a scanning service.
 	 * 
@@ -0,0 +1,24 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scan;
+
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * Receives status changes of scans watched by a {@link ScanStatusPoller}.
+ */
+public interface IScanStatusListener {
+
+	/**
+	 * Called when the status of a scan is first read and each time it changes.
+	 *
+	 * @param scanId The id of the scan.
+	 * @param status The status of the latest execution of the scan.
+	 * @param details The details of the scan, as returned by {@link IScanServiceProvider#getScanDetails(String)}.
+	 * @param done True if the scan reached a final status and is no longer watched.
+	 */
+	void statusChanged(String scanId, String status, JSONObject details, boolean done);
+}
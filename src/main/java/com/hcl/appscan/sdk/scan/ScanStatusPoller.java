@@ -0,0 +1,265 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scan;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.HttpsURLConnection;
+
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+
+import com.hcl.appscan.sdk.CoreConstants;
+import com.hcl.appscan.sdk.auth.IAuthenticationProvider;
+import com.hcl.appscan.sdk.http.HttpClient;
+import com.hcl.appscan.sdk.http.HttpResponse;
+import com.hcl.appscan.sdk.utils.DaemonThreadFactory;
+
+/**
+ * Watches the status of many scans with as few requests as possible. Scans that are due are queried together in
+ * batches with a single $filter=Id in (...) request, and each scan is polled less often the longer its status stays
+ * the same: queued scans start at {@value #QUEUED_INTERVAL} seconds and running scans at {@value #RUNNING_INTERVAL}
+ * seconds, doubling up to {@value #QUEUED_MAX_INTERVAL} and {@value #RUNNING_MAX_INTERVAL} seconds. Listeners are
+ * notified on the poller thread when a status changes, and a scan stops being watched once it reaches a final status.
+ */
+public class ScanStatusPoller implements CoreConstants {
+
+	public static final int QUEUED_INTERVAL = 30;
+	public static final int QUEUED_MAX_INTERVAL = 300;
+	public static final int RUNNING_INTERVAL = 10;
+	public static final int RUNNING_MAX_INTERVAL = 120;
+
+	private static final int BATCH_SIZE = 50;
+	private static final long TICK = 1000;
+	private static final List<String> QUEUED_STATES = Arrays.asList(INQUEUE, WAITING_TO_RUN);
+	private static final List<String> RUNNING_STATES = Arrays.asList(RUNNING, STARTING, PAUSING, CANCELING);
+
+	private final IAuthenticationProvider m_authProvider;
+	private final Map<String, WatchedScan> m_scans = new ConcurrentHashMap<String, WatchedScan>();
+	private final ScheduledExecutorService m_scheduler;
+	private boolean m_useInFilter = true;
+
+	/**
+	 * Constructor. The poller runs on its own daemon thread until {@link #shutdown()} is called.
+	 *
+	 * @param authProvider The authentication provider for the service.
+	 */
+	public ScanStatusPoller(IAuthenticationProvider authProvider) {
+		m_authProvider = authProvider;
+		m_scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("appscan-status-")); //$NON-NLS-1$
+		m_scheduler.scheduleWithFixedDelay(() -> poll(), TICK, TICK, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Starts watching a scan. If the scan is already watched the listener is added to it, and is told the last
+	 * known status right away.
+	 *
+	 * @param scanId The id of the scan.
+	 * @param listener The listener to notify of status changes, or null.
+	 */
+	public void watch(String scanId, IScanStatusListener listener) {
+		WatchedScan scan = m_scans.computeIfAbsent(scanId, id -> new WatchedScan());
+		if(listener != null) {
+			scan.m_listeners.add(listener);
+			if(scan.m_details != null)
+				notifyListener(listener, scanId, scan.m_status, scan.m_details, false);
+		}
+	}
+
+	/**
+	 * Stops notifying a listener about a scan. The scan is no longer polled once it has no listeners.
+	 *
+	 * @param scanId The id of the scan.
+	 * @param listener The listener to remove.
+	 */
+	public void unwatch(String scanId, IScanStatusListener listener) {
+		WatchedScan scan = m_scans.get(scanId);
+		if(scan != null) {
+			scan.m_listeners.remove(listener);
+			if(scan.m_listeners.isEmpty())
+				m_scans.remove(scanId);
+		}
+	}
+
+	/**
+	 * Gets the details of a watched scan from the last poll, without making a request.
+	 *
+	 * @param scanId The id of the scan.
+	 * @return The details of the scan, or null if the scan is not watched or has not been polled yet.
+	 */
+	public JSONObject getDetails(String scanId) {
+		WatchedScan scan = m_scans.get(scanId);
+		return scan == null ? null : scan.m_details;
+	}
+
+	/**
+	 * Stops polling.
+	 */
+	public void shutdown() {
+		m_scheduler.shutdownNow();
+		m_scans.clear();
+	}
+
+	/*
+	 * Any exception escaping this method would stop the scheduler from running it again, so none is let through.
+	 */
+	private void poll() {
+		long now = System.currentTimeMillis();
+		List<String> due = new ArrayList<String>();
+		for(Map.Entry<String, WatchedScan> entry : m_scans.entrySet()) {
+			if(entry.getValue().m_nextPoll <= now)
+				due.add(entry.getKey());
+		}
+		try {
+			if(due.isEmpty() || m_authProvider.isTokenExpired())
+				return;
+		} catch (RuntimeException e) {
+			return;
+		}
+
+		for(int i = 0; i < due.size(); i += BATCH_SIZE) {
+			List<String> batch = due.subList(i, Math.min(i + BATCH_SIZE, due.size()));
+			Map<String, JSONObject> details;
+			try {
+				details = getScanDetails(batch);
+			} catch (IOException | JSONException | RuntimeException e) {
+				// Every scan in the batch is treated as a failed poll.
+				details = Collections.emptyMap();
+			}
+			for(String scanId : batch)
+				update(scanId, details.get(scanId.toLowerCase()));
+		}
+	}
+
+	/*
+	 * Records the result of a poll, notifies listeners if the status changed and schedules the next poll.
+	 */
+	private void update(String scanId, JSONObject details) {
+		WatchedScan scan = m_scans.get(scanId);
+		if(scan == null)
+			return;
+
+		String status = null;
+		if(details != null) {
+			try {
+				status = details.getJSONObject(LATEST_EXECUTION).getString(STATUS);
+			} catch (JSONException | NullPointerException e) {
+				// Treated as a failed poll.
+			}
+		}
+
+		if(status == null) {
+			scan.backOff(scan.m_status);
+			return;
+		}
+
+		boolean changed = !status.equals(scan.m_status);
+		scan.m_details = details;
+		scan.m_status = status;
+		boolean done = !QUEUED_STATES.contains(status) && !RUNNING_STATES.contains(status);
+		if(done)
+			m_scans.remove(scanId);
+		else if(changed)
+			scan.reset(status);
+		else
+			scan.backOff(status);
+
+		if(changed || done) {
+			for(IScanStatusListener listener : scan.m_listeners)
+				notifyListener(listener, scanId, status, details, done);
+		}
+	}
+
+	/*
+	 * Notifies a listener, so that one that fails does not keep the others or the poller from running.
+	 */
+	private static void notifyListener(IScanStatusListener listener, String scanId, String status, JSONObject details, boolean done) {
+		try {
+			listener.statusChanged(scanId, status, details, done);
+		} catch (RuntimeException e) {
+			// Ignored.
+		}
+	}
+
+	/*
+	 * Gets the details of several scans in a single request, keyed by scan id.
+	 */
+	private Map<String, JSONObject> getScanDetails(List<String> scanIds) throws IOException, JSONException {
+		HttpClient client = new HttpClient(m_authProvider.getProxy(), m_authProvider.getacceptInvalidCerts());
+		HttpResponse response = client.get(getRequestUrl(scanIds), m_authProvider.getAuthorizationHeader(true), null);
+		if(response.getResponseCode() == HttpsURLConnection.HTTP_BAD_REQUEST && m_useInFilter && scanIds.size() > 1) {
+			// Older servers do not support the "in" operator.
+			response.close();
+			m_useInFilter = false;
+			response = client.get(getRequestUrl(scanIds), m_authProvider.getAuthorizationHeader(true), null);
+		}
+
+		try {
+			if(!response.isSuccess())
+				throw new IOException(response.getResponseCode() + " " + response.getResponseBodyAsString()); //$NON-NLS-1$
+
+			Map<String, JSONObject> details = new HashMap<String, JSONObject>();
+			JSONArray items = ((JSONObject) response.getResponseBodyAsJSON()).getJSONArray(ITEMS);
+			for(int i = 0; i < items.size(); i++) {
+				JSONObject item = items.getJSONObject(i);
+				details.put(item.getString(ID).toLowerCase(), item);
+			}
+			return details;
+		} finally {
+			response.close();
+		}
+	}
+
+	private String getRequestUrl(List<String> scanIds) {
+		StringBuilder filter = new StringBuilder();
+		if(m_useInFilter && scanIds.size() > 1) {
+			filter.append("Id%20in%20("); //$NON-NLS-1$
+			for(int i = 0; i < scanIds.size(); i++)
+				filter.append(i == 0 ? "" : ",").append(scanIds.get(i)); //$NON-NLS-1$ //$NON-NLS-2$
+			filter.append(')');
+		}
+		else {
+			for(int i = 0; i < scanIds.size(); i++)
+				filter.append(i == 0 ? "" : "%20or%20").append("Id%20eq%20").append(scanIds.get(i)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return m_authProvider.getServer() + API_BASIC_DETAILS + "?$top=" + scanIds.size() + "&$filter=" + filter; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static class WatchedScan {
+		private final List<IScanStatusListener> m_listeners = new CopyOnWriteArrayList<IScanStatusListener>();
+		private volatile JSONObject m_details;
+		private volatile String m_status;
+		private long m_interval;
+		private long m_nextPoll;
+
+		private void reset(String status) {
+			m_interval = getBaseInterval(status);
+			m_nextPoll = System.currentTimeMillis() + m_interval;
+		}
+
+		private void backOff(String status) {
+			long max = QUEUED_STATES.contains(status) ? QUEUED_MAX_INTERVAL * 1000L : RUNNING_MAX_INTERVAL * 1000L;
+			m_interval = m_interval == 0 ? getBaseInterval(status) : Math.min(m_interval * 2, max);
+			m_nextPoll = System.currentTimeMillis() + m_interval;
+		}
+
+		private static long getBaseInterval(String status) {
+			return QUEUED_STATES.contains(status) ? QUEUED_INTERVAL * 1000L : RUNNING_INTERVAL * 1000L;
+		}
+	}
+}
@@ -0,0 +1,323 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scanners.sast;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.hcl.appscan.sdk.CoreConstants;
+import com.hcl.appscan.sdk.Messages;
+import com.hcl.appscan.sdk.error.ScannerException;
+import com.hcl.appscan.sdk.logging.IProgress;
+import com.hcl.appscan.sdk.logging.Message;
+import com.hcl.appscan.sdk.scanners.sast.xml.IModelXMLConstants;
+
+/**
+ * A cache of .irx files, so that targets that have not changed since they were last prepared are not prepared again.
+ *
+ * Entries are named after a fingerprint of everything that goes into an .irx file: the path, size and modification
+ * time of each file in the targets listed in the working directory's configuration file (or in the working directory
+ * itself if it has none), the content of that configuration file, the SAClientUtil version and the prepare
+ * properties. The cache is only used when the {@value CoreConstants#IRX_CACHE} system property names its directory.
+ * The least recently used entries are deleted once there are more than {@value #DEFAULT_CACHE_SIZE}, or the number
+ * given by the {@value #CACHE_SIZE} system property.
+ */
+public class IrxCache implements SASTConstants {
+
+	public static final String CACHE_SIZE = "irxCacheSize"; //$NON-NLS-1$
+
+	private static final int DEFAULT_CACHE_SIZE = 10;
+	private static final String CONFIG_FILE = IModelXMLConstants.APPSCAN_CONFIG + IModelXMLConstants.DOT_XML;
+	private static final String LOGS_SUFFIX = "_logs.zip"; //$NON-NLS-1$
+	private static final String TEMP_PREFIX = ".tmp-"; //$NON-NLS-1$
+	private static final char[] HEX = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+	// Properties that only affect where the output goes.
+	private static final List<String> IGNORED_PROPERTIES = Arrays.asList(CoreConstants.SCAN_NAME, SAVE_LOCATION, LOG_LOCATION);
+
+	private final File m_cacheDir;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cacheDir The directory that holds the cache.
+	 */
+	public IrxCache(File cacheDir) {
+		m_cacheDir = cacheDir;
+	}
+
+	/**
+	 * Gets the cache named by the {@value CoreConstants#IRX_CACHE} system property.
+	 *
+	 * @return The cache, or null if caching is disabled.
+	 */
+	public static IrxCache getDefault() {
+		String dir = System.getProperty(CoreConstants.IRX_CACHE);
+		return dir == null || dir.trim().isEmpty() ? null : new IrxCache(new File(dir));
+	}
+
+	/**
+	 * Prepares an .irx file with SAClientUtil, or copies it from the default cache if the targets were already
+	 * prepared with the same configuration, client version and properties. This is the only way an earlier .irx
+	 * file is reused. If the cached file cannot be copied, the targets are prepared as usual.
+	 *
+	 * @param client The client to prepare the .irx file with.
+	 * @param workingDir The directory where the client runs.
+	 * @param properties The prepare properties.
+	 * @param irx The .irx file the client creates.
+	 * @param progress The progress to report reuse of a cached file to.
+	 * @throws IOException If an error occurs.
+	 * @throws ScannerException If an error occurs running the client.
+	 */
+	public static void prepare(SAClient client, File workingDir, Map<String, String> properties, File irx, IProgress progress) throws IOException, ScannerException {
+		IrxCache cache = getDefault();
+		if(cache == null) {
+			client.run(workingDir.getAbsolutePath(), properties);
+			return;
+		}
+
+		// The fingerprint is taken before the client runs, so files it writes to the targets are not part of it.
+		String version = client.getClientVersion(properties.get(CoreConstants.SERVER_URL), properties.get(CoreConstants.ACCEPT_INVALID_CERTS));
+		String fingerprint = cache.getFingerprint(workingDir, properties, version);
+		File cached = cache.find(fingerprint);
+		if(cached != null) {
+			try {
+				irx.getAbsoluteFile().getParentFile().mkdirs();
+				Files.copy(cached.toPath(), irx.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				progress.setStatus(new Message(Message.INFO, Messages.getMessage(IRX_REUSED, irx.getName())));
+				return;
+			} catch (IOException e) {
+				// The entry may have been deleted by another process, so the targets are prepared as usual.
+			}
+		}
+
+		client.run(workingDir.getAbsolutePath(), properties);
+		if(irx.isFile()) {
+			try {
+				cache.store(fingerprint, irx);
+			} catch (IOException e) {
+				// The next prepare of the same targets is not faster.
+			}
+		}
+	}
+
+	/**
+	 * Checks if {@link #prepare(SAClient, File, Map, File, IProgress)} would copy the .irx file from the default cache
+	 * rather than run SAClientUtil.
+	 *
+	 * @param client The client that would prepare the .irx file.
+	 * @param workingDir The directory where the client runs.
+	 * @param properties The prepare properties.
+	 * @return True if the default cache has an .irx file for the prepare.
+	 * @throws IOException If an error occurs.
+	 * @throws ScannerException If an error occurs getting the client.
+	 */
+	public static boolean isCached(SAClient client, File workingDir, Map<String, String> properties) throws IOException, ScannerException {
+		IrxCache cache = getDefault();
+		if(cache == null)
+			return false;
+
+		String version = client.getClientVersion(properties.get(CoreConstants.SERVER_URL), properties.get(CoreConstants.ACCEPT_INVALID_CERTS));
+		return cache.getEntry(cache.getFingerprint(workingDir, properties, version)).isFile();
+	}
+
+	/**
+	 * Gets the fingerprint of a prepare.
+	 *
+	 * @param workingDir The directory where the client runs.
+	 * @param properties The prepare properties.
+	 * @param clientVersion The SAClientUtil version.
+	 * @return The fingerprint, as a hexadecimal SHA-256 hash.
+	 * @throws IOException If an error occurs reading the targets.
+	 */
+	public String getFingerprint(File workingDir, Map<String, String> properties, String clientVersion) throws IOException {
+		MessageDigest digest = newDigest();
+		update(digest, String.valueOf(clientVersion));
+
+		for(Map.Entry<String, String> property : new TreeMap<String, String>(properties).entrySet()) {
+			if(!IGNORED_PROPERTIES.contains(property.getKey()))
+				update(digest, property.getKey() + "=" + property.getValue()); //$NON-NLS-1$
+		}
+
+		List<Path> skipped = new ArrayList<Path>();
+		for(String location : new String[] {properties.get(SAVE_LOCATION), properties.get(LOG_LOCATION)}) {
+			if(location != null)
+				skipped.add(new File(location).getAbsoluteFile().toPath());
+		}
+
+		File config = new File(workingDir, CONFIG_FILE);
+		List<String> targets = new ArrayList<String>();
+		if(config.isFile()) {
+			digest.update(Files.readAllBytes(config.toPath()));
+			targets.addAll(getTargets(config));
+		}
+		else {
+			targets.add(workingDir.getAbsolutePath());
+		}
+
+		for(String target : targets) {
+			File root = new File(target);
+			if(!root.isAbsolute())
+				root = new File(workingDir, target);
+			update(digest, target);
+			update(digest, root, skipped);
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Finds a cached .irx file and records that it was used.
+	 *
+	 * @param fingerprint The fingerprint of the prepare.
+	 * @return The cached .irx file, or null if there is none.
+	 */
+	public File find(String fingerprint) {
+		File irx = getEntry(fingerprint);
+		if(!irx.isFile())
+			return null;
+		irx.setLastModified(System.currentTimeMillis());
+		return irx;
+	}
+
+	/**
+	 * Adds an .irx file to the cache. Entries appear atomically, so several processes can share the cache.
+	 *
+	 * @param fingerprint The fingerprint of the prepare.
+	 * @param irx The .irx file.
+	 * @throws IOException If an error occurs.
+	 */
+	public void store(String fingerprint, File irx) throws IOException {
+		m_cacheDir.mkdirs();
+		File temp = new File(m_cacheDir, TEMP_PREFIX + UUID.randomUUID());
+		try {
+			Files.copy(irx.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			Files.move(temp.toPath(), getEntry(fingerprint).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			temp.delete();
+		}
+		collectGarbage();
+	}
+
+	private File getEntry(String fingerprint) {
+		return new File(m_cacheDir, fingerprint + IRX_EXTENSION);
+	}
+
+	/*
+	 * Deletes the least recently used entries.
+	 */
+	private void collectGarbage() {
+		File[] entries = m_cacheDir.listFiles((dir, name) -> name.endsWith(IRX_EXTENSION) && !name.startsWith(".")); //$NON-NLS-1$
+		if(entries == null)
+			return;
+		Arrays.sort(entries, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
+		int size = Math.max(1, Integer.getInteger(CACHE_SIZE, DEFAULT_CACHE_SIZE));
+		for(int i = size; i < entries.length; i++)
+			entries[i].delete();
+	}
+
+	/*
+	 * Adds the path, size and modification time of each file under the root, except for the output of earlier prepares.
+	 */
+	private static void update(MessageDigest digest, File root, List<Path> skipped) throws IOException {
+		Path rootPath = root.getAbsoluteFile().toPath();
+		if(!Files.exists(rootPath))
+			return;
+
+		List<Path> files;
+		try (Stream<Path> paths = Files.walk(rootPath)) {
+			files = paths.filter(path -> Files.isRegularFile(path) && !isSkipped(rootPath, path, skipped))
+					.sorted().collect(Collectors.toList());
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		for(Path file : files) {
+			File f = file.toFile();
+			update(digest, rootPath.relativize(file) + ":" + f.length() + ":" + f.lastModified()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static boolean isSkipped(Path root, Path path, List<Path> skipped) {
+		String name = path.getFileName().toString();
+		if(name.endsWith(IRX_EXTENSION) || name.endsWith(LOGS_SUFFIX) || name.equals(CONFIG_FILE) || name.startsWith("." + CONFIG_FILE)) //$NON-NLS-1$
+			return true;
+		// Output directories are only skipped when they are inside the target, not when they contain it.
+		for(Path dir : skipped) {
+			if(path.startsWith(dir) && !root.startsWith(dir))
+				return true;
+		}
+		return false;
+	}
+
+	/*
+	 * Reads the paths of the targets from a configuration file.
+	 */
+	private static List<String> getTargets(File config) throws IOException {
+		List<String> targets = new ArrayList<String>();
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		try (InputStream in = new FileInputStream(config)) {
+			XMLStreamReader reader = factory.createXMLStreamReader(in);
+			try {
+				while(reader.hasNext()) {
+					if(reader.next() == XMLStreamReader.START_ELEMENT && IModelXMLConstants.E_TARGET.equals(reader.getLocalName())) {
+						String path = reader.getAttributeValue(null, IModelXMLConstants.A_PATH);
+						if(path != null)
+							targets.add(path);
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return targets;
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] chars = new char[bytes.length * 2];
+		for(int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+			chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+		}
+		return new String(chars);
+	}
+}
@@ -6,17 +6,13 @@
 
 package com.hcl.appscan.sdk.scanners.sast;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FilenameFilter;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.Proxy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import com.hcl.appscan.sdk.CoreConstants;
 import com.hcl.appscan.sdk.Messages;
@@ -24,8 +20,8 @@ import com.hcl.appscan.sdk.error.ScannerException;
 import com.hcl.appscan.sdk.logging.DefaultProgress;
 import com.hcl.appscan.sdk.logging.IProgress;
 import com.hcl.appscan.sdk.logging.Message;
-import com.hcl.appscan.sdk.utils.ArchiveUtil;
-import com.hcl.appscan.sdk.utils.ArchiveUtilSymlinks;
+import com.hcl.appscan.sdk.logging.ProcessOutputPump;
+import com.hcl.appscan.sdk.scan.CancellationToken;
 import com.hcl.appscan.sdk.utils.FileUtil;
 import com.hcl.appscan.sdk.utils.ServiceUtil;
 import com.hcl.appscan.sdk.utils.SystemUtil;
@@ -33,12 +29,12 @@ import com.hcl.appscan.sdk.utils.SystemUtil;
 public class SAClient implements SASTConstants {
 
 	private static final File DEFAULT_INSTALL_DIR = new File(System.getProperty("user.home"), ".appscan"); //$NON-NLS-1$ //$NON-NLS-2$
-	private static final String SACLIENT = "SAClientUtil"; //$NON-NLS-1$
-	private static final String VERSION_INFO = "version.info"; //$NON-NLS-1$
+	private static final long OUTPUT_TIMEOUT = 30000;
 	
 	private IProgress m_progress;
 	private ProcessBuilder m_builder;
 	private File m_installDir;
+	private File m_install;
 	private Proxy m_proxy;
 	
 	public SAClient() {
@@ -119,36 +115,37 @@ public class SAClient implements SASTConstants {
             m_builder.environment().put(CoreConstants.APPSCAN_OPTS, options);
         }
 
-                final Process proc = m_builder.start();
-		    new Thread(new Runnable() {
-			@Override
-			public void run() {
-				BufferedReader reader = new BufferedReader(new InputStreamReader(proc.getInputStream()));
-				String line;
-				try {
-					while((line = reader.readLine()) != null)
-						m_progress.setStatus(new Message(Message.INFO, line));
-				}
-				catch(IOException e) {
-					m_progress.setStatus(e);
-				} 
-				finally {
-					try {
-						reader.close();
-					} catch (IOException e) {
-						m_progress.setStatus(e);
-					}
-				}
-			}
-		}).start();
+		//The process is destroyed as soon as the scan is cancelled, rather than when it is next checked.
+		CancellationToken token = CancellationToken.current();
+		token.check();
+		Process proc = m_builder.start();
+		Runnable destroy = () -> proc.destroyForcibly();
+		token.addListener(destroy);
+		ProcessOutputPump output = new ProcessOutputPump(proc.getInputStream(), m_progress);
+		output.start();
 		
 		try {
-			proc.waitFor();
+			if(token.getRemaining() == Long.MAX_VALUE)
+				proc.waitFor();
+			else if(!proc.waitFor(token.getRemaining(), TimeUnit.MILLISECONDS))
+				proc.destroyForcibly().waitFor();
+			output.await(Math.min(OUTPUT_TIMEOUT, Math.max(1, token.getRemaining())));
 		} catch (InterruptedException e) {
+			proc.destroyForcibly();
+			Thread.currentThread().interrupt();
 			m_progress.setStatus(e);
 			return -1;
+		} finally {
+			token.removeListener(destroy);
+			// Installs are only deleted once unused for a while, so record that this one was used until now.
+			if(m_install != null)
+				new SAClientCache(m_installDir).touch(m_install);
 		}
+		token.check();
 
+		//Output that was skipped is still useful when the process fails.
+		if(proc.exitValue() != 0 && output.getDroppedLines() > 0)
+			m_progress.setStatus(new Message(Message.ERROR, output.getTail()));
 		return proc.exitValue();
 	}
 	
@@ -166,45 +163,59 @@ public class SAClient implements SASTConstants {
         public String getClientScript(String serverURL, String acceptInvalidCerts) throws IOException, ScannerException {
 		//See if we already have the client package.
 		String scriptPath = "bin" + File.separator + getScriptName(); //$NON-NLS-1$
-		File install = findClientInstall();
+		SAClientCache cache = new SAClientCache(m_installDir);
+		String serverVersion = null;
+		File install = cache.getMostRecent();
 
-		if(install != null && new File(install, scriptPath).isFile() && !shouldUpdateClient(serverURL, Boolean.parseBoolean(acceptInvalidCerts)))
+		//Several versions may be cached. Use the one the server provides, or the most recent one if it is up to date.
+		if(install == null || System.getProperty(CoreConstants.SKIP_UPDATE) == null) {
+			serverVersion = getServerVersion(serverURL, Boolean.parseBoolean(acceptInvalidCerts));
+			File cached = serverVersion == null ? null : cache.find(serverVersion);
+			if(cached != null) {
+				install = cached;
+			}
+			else if(install != null && compareVersions(SAClientCache.getVersion(install), serverVersion)) {
+				m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(SACLIENT_OUTDATED, SAClientCache.getVersion(install), serverVersion)));
+				install = null;
+			}
+		}
+
+		if(install != null && new File(install, scriptPath).isFile()) {
+			cache.touch(install);
+			m_install = install;
 			return new File(install, scriptPath).getAbsolutePath();
+		}
 		
-		//Download it.
+		//Download it. Another process may already be downloading the same version, in which case that install is used.
 		m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(DOWNLOADING_CLIENT)));
-		if(install != null && install.isDirectory())
-			deleteDirectory(install);
-		
-		File clientZip = new File(m_installDir, SACLIENT + ".zip"); //$NON-NLS-1$
-		if(clientZip.isFile())
-			clientZip.delete();
-		
 		try {
-			ServiceUtil.getSAClientUtil(clientZip, m_proxy, serverURL, acceptInvalidCerts);
+			install = cache.install(serverVersion, zip -> {
+				ServiceUtil.getSAClientUtil(zip, m_proxy, serverURL, acceptInvalidCerts);
+				m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(DOWNLOAD_COMPLETE)));
+				m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(EXTRACTING_CLIENT)));
+			});
 		} catch(OutOfMemoryError e) {
 			throw new ScannerException(Messages.getMessage(DOWNLOAD_OUT_OF_MEMORY));
 		} catch(IOException e) {
 			throw new ScannerException(Messages.getMessage(ERROR_DOWNLOADING_CLIENT, e.getLocalizedMessage()));
 		}
-		
-		if(clientZip.isFile()) {
-			m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(DOWNLOAD_COMPLETE)));
-			m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(EXTRACTING_CLIENT)));
-		}
-
-		// Handle Mac bundle release (which contains symlinks that aren't handled by the Java zip class)
-		if (SystemUtil.isMac()) {
-			ArchiveUtilSymlinks aus = new ArchiveUtilSymlinks();
-			aus.unzip(clientZip, m_installDir);
-		}
-		else {
-			ArchiveUtil au = new ArchiveUtil();
-			au.unzip(clientZip, m_installDir);
-		}
 		m_progress.setStatus(new Message(Message.INFO, Messages.getMessage(DONE)));
 
-		return new File(findClientInstall(), scriptPath).getAbsolutePath();
+		m_install = install;
+		return new File(install, scriptPath).getAbsolutePath();
+	}
+	
+	/**
+	 * Gets the version of the client that prepares .irx files, downloading the package if needed.
+	 * @param serverURL The URL of the server that provides the client.
+	 * @param acceptInvalidCerts "true" to accept invalid certificates from the server.
+	 * @return The version of the client, or null if it is not known.
+	 * @throws IOException If an error occurs.
+	 * @throws ScannerException If an error occurs getting the client.
+	 */
+	public String getClientVersion(String serverURL, String acceptInvalidCerts) throws IOException, ScannerException {
+		getClientScript(serverURL, acceptInvalidCerts);
+		return getLocalClientVersion();
 	}
 	
 	private String getScriptName() {
@@ -212,7 +223,7 @@ public class SAClient implements SASTConstants {
 	}
 	
 	public boolean majorVersionChanged() throws IOException {
-		String serverMajorVersion = ServiceUtil.getSAClientVersion(m_proxy);
+		String serverMajorVersion = getServerVersion("", false); //$NON-NLS-1$
 		String localMajorVersion = getLocalClientVersion();
 		
 		if (serverMajorVersion != null && localMajorVersion != null) {
@@ -235,7 +246,7 @@ public class SAClient implements SASTConstants {
 	}
 	
 	public boolean shouldUpdateClient(String serverURL, boolean acceptInvalidCerts) throws IOException {
-		String serverVersion = ServiceUtil.getSAClientVersion(m_proxy,serverURL, acceptInvalidCerts);
+		String serverVersion = getServerVersion(serverURL, acceptInvalidCerts);
 		String localVersion = getLocalClientVersion();
 
 		if(compareVersions(localVersion, serverVersion) && System.getProperty(CoreConstants.SKIP_UPDATE) == null) {
@@ -245,72 +256,18 @@ public class SAClient implements SASTConstants {
 		return false;
 	}
 	
-	private File findClientInstall() {
-		if(!m_installDir.isDirectory())
-			return null;
-		
-		File files[] = m_installDir.listFiles(new FilenameFilter() {
-			public boolean accept(File dir, String name) {
-				return name.startsWith(SACLIENT) && new File(dir, name).isDirectory();
-			}
-		});
-		
-		//If there's more than 1 directory, we need to determine the latest. Delete any older directories that are found.
-		if(files.length > 1) {
-			File latest = files[0];
-			String latestVersion = getVersionFromString(latest.getName());
-			
-			for(int i = 1; i < files.length; i++) {
-				String otherVersion = getVersionFromString(files[i].getName());
-				if(compareVersions(latestVersion, otherVersion)) {
-					deleteDirectory(latest);
-					latest = files[i];
-					latestVersion = getVersionFromString(latest.getName());
-				}
-				else
-					deleteDirectory(files[i]);
-			}
-			
-			return latest;
-		}
-		else
-			return files.length == 0 ? null : files[0];
+	private String getServerVersion(String serverURL, boolean acceptInvalidCerts) throws IOException {
+		return new SAClientCache(m_installDir).getServerVersion(serverURL,
+				() -> ServiceUtil.getSAClientVersion(m_proxy, serverURL, acceptInvalidCerts));
 	}
 	
-	private String getLocalClientVersion() {
-		File versionInfo = new File(findClientInstall(), VERSION_INFO);
-
-		String version = null;
-		BufferedReader reader = null;
-		
-		try {
-			reader = new BufferedReader(new FileReader(versionInfo));
-			version = reader.readLine(); //The version is the first line of the version.info file.
-		} catch (FileNotFoundException ignore) {
-			// Expected before first installation
-		} catch (IOException e) {
-			m_progress.setStatus(new Message(Message.WARNING, Messages.getMessage(ERROR_CHECKING_SACLIENT_VER, e.getLocalizedMessage())));
-		} finally {
-			try {
-				if(reader != null)
-					reader.close();
-			} catch (IOException e) {
-			}
-		}
-		return version;
+	private File findClientInstall() {
+		return m_install != null ? m_install : new SAClientCache(m_installDir).getMostRecent();
 	}
 	
-	private void deleteDirectory(File directory) {
-		if(!directory.isDirectory())
-			directory.delete();
-		
-		for(File file : directory.listFiles()) {
-			if(file.isDirectory())
-				deleteDirectory(file);
-			else
-				file.delete();
-		}
-		directory.delete();
+	private String getLocalClientVersion() {
+		File install = findClientInstall();
+		return install == null ? null : SAClientCache.getVersion(install);
 	}
 	
 	/**
@@ -390,11 +347,4 @@ public class SAClient implements SASTConstants {
 	public boolean compareVersions(String baseVersion, String newVersion) {
 		return ServiceUtil.compareVersions(baseVersion, newVersion);
 	}
-	
-	private String getVersionFromString(String name) {
-		String version = name.substring(SACLIENT.length());
-		if(version.trim().startsWith(".")) //$NON-NLS-1$
-			version = version.substring(1);
-		return version;
-	}
 }
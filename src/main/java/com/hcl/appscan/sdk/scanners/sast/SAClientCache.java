@@ -0,0 +1,389 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scanners.sast;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hcl.appscan.sdk.Messages;
+import com.hcl.appscan.sdk.utils.ArchiveUtil;
+import com.hcl.appscan.sdk.utils.FileUtil;
+import com.hcl.appscan.sdk.utils.SystemUtil;
+
+/**
+ * A cache of SAClientUtil installs that can be shared by several processes.
+ *
+ * Each install is kept in its own directory, named after its version and the hash of the package it was extracted
+ * from, so several versions can be used side by side. A package is downloaded and extracted into a temporary
+ * directory that is renamed into place once complete, while holding a file lock so that concurrent processes do not
+ * download the same package twice. The least recently used installs are deleted once there are more than
+ * {@value #DEFAULT_CACHE_SIZE}, or the number given by the {@value #CACHE_SIZE} system property. Since other processes
+ * may still be running an install, installs used within the last {@value #GRACE_PERIOD} seconds (86400 by default)
+ * are kept even when that leaves more installs in the cache.
+ *
+ * Installs that older versions of the SDK extracted directly into the install directory are deleted whenever a
+ * package is installed into the cache.
+ *
+ * The latest version available from each server is also remembered in the cache, so that it is only requested once
+ * per {@value #VERSION_CHECK_TTL} seconds (3600 by default).
+ */
+public class SAClientCache {
+
+	public static final String CACHE_SIZE = "saclientCacheSize"; //$NON-NLS-1$
+	public static final String VERSION_CHECK_TTL = "saclientVersionCheckTtl"; //$NON-NLS-1$
+	public static final String GRACE_PERIOD = "saclientCacheGracePeriod"; //$NON-NLS-1$
+
+	private static final int DEFAULT_CACHE_SIZE = 3;
+	private static final long DEFAULT_VERSION_CHECK_TTL = 3600;
+	private static final long DEFAULT_GRACE_PERIOD = 24 * 60 * 60;
+	private static final String SERVER_VERSIONS = ".serverVersions"; //$NON-NLS-1$
+	private static final String DOWNLOAD_VERSION = "SACLIENTUTIL_DOWNLOAD_VERSION"; //$NON-NLS-1$
+	private static final String CLIENTS = "clients"; //$NON-NLS-1$
+	private static final String SACLIENT = "SAClientUtil"; //$NON-NLS-1$
+	private static final String VERSION_INFO = "version.info"; //$NON-NLS-1$
+	private static final String LOCK = ".lock"; //$NON-NLS-1$
+	private static final String LAST_USED = ".lastUsed"; //$NON-NLS-1$
+	private static final String TEMP_PREFIX = ".tmp-"; //$NON-NLS-1$
+	private static final char[] HEX = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+	// Returned by ServiceUtil.getSAClientVersion when the response could not be parsed.
+	private static final String UNKNOWN_VERSION = "0"; //$NON-NLS-1$
+
+	// Installs never change once they are in the cache, so neither do their versions.
+	private static final Map<String, String> s_versions = new ConcurrentHashMap<String, String>();
+
+	private final File m_cacheDir;
+
+	/**
+	 * Downloads a SAClientUtil package.
+	 */
+	public interface IDownloader {
+		/**
+		 * Downloads the package.
+		 *
+		 * @param file The file to download the package to.
+		 * @throws IOException If an error occurs.
+		 */
+		void download(File file) throws IOException;
+	}
+
+	/**
+	 * Requests the latest SAClientUtil version from a server.
+	 */
+	public interface IVersionLookup {
+		/**
+		 * Requests the version.
+		 *
+		 * @return The version, or null if the server did not provide one.
+		 * @throws IOException If an error occurs.
+		 */
+		String getVersion() throws IOException;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param installDir The directory that holds the cache.
+	 */
+	public SAClientCache(File installDir) {
+		m_cacheDir = new File(installDir, CLIENTS);
+	}
+
+	/**
+	 * Finds a cached install of the given version.
+	 *
+	 * @param version The version.
+	 * @return The install directory, or null if the version is not cached.
+	 */
+	public File find(String version) {
+		File found = null;
+		for(File entry : getEntries()) {
+			if(entry.getName().startsWith(FileUtil.getValidFilename(version) + "-")) { //$NON-NLS-1$
+				File install = getInstall(entry);
+				if(install != null && (found == null || getLastUsed(entry) > getLastUsed(found.getParentFile())))
+					found = install;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Gets the most recently used install.
+	 *
+	 * @return The install directory, or null if the cache is empty.
+	 */
+	public File getMostRecent() {
+		File found = null;
+		for(File entry : getEntries()) {
+			File install = getInstall(entry);
+			if(install != null && (found == null || getLastUsed(entry) > getLastUsed(found.getParentFile())))
+				found = install;
+		}
+		return found;
+	}
+
+	/**
+	 * Records that an install was used. Call this when a client starts and again when it stops, so that the install
+	 * is not deleted while it runs.
+	 *
+	 * @param install The install directory.
+	 */
+	public void touch(File install) {
+		File lastUsed = new File(install.getParentFile(), LAST_USED);
+		try {
+			if(!lastUsed.createNewFile())
+				lastUsed.setLastModified(System.currentTimeMillis());
+		} catch (IOException e) {
+			// Only affects which installs are deleted first.
+		}
+	}
+
+	/**
+	 * Downloads and installs a package, unless another process installed the given version while this one was
+	 * waiting for the lock.
+	 *
+	 * @param version The version that is expected, or null if it is not known.
+	 * @param downloader Downloads the package.
+	 * @return The install directory.
+	 * @throws IOException If an error occurs.
+	 */
+	public File install(String version, IDownloader downloader) throws IOException {
+		m_cacheDir.mkdirs();
+		synchronized (SAClientCache.class) {
+			try (FileChannel channel = FileChannel.open(new File(m_cacheDir, LOCK).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+					FileLock lock = channel.lock()) {
+				File install = version == null ? null : find(version);
+				if(install != null) {
+					touch(install);
+					return install;
+				}
+
+				deleteTempFiles();
+				deleteLegacyInstalls();
+				String id = UUID.randomUUID().toString();
+				File zip = new File(m_cacheDir, TEMP_PREFIX + id + ".zip"); //$NON-NLS-1$
+				File temp = new File(m_cacheDir, TEMP_PREFIX + id);
+				try {
+					downloader.download(zip);
+					String hash = hash(zip);
+					ArchiveUtil.unzip(zip, temp, SystemUtil.isMac());
+					install = getInstall(temp);
+					if(install == null)
+						throw new IOException(Messages.getMessage(SASTConstants.ERROR_INVALID_CLIENT_PACKAGE));
+
+					File entry = new File(m_cacheDir, FileUtil.getValidFilename(getVersion(install)) + "-" + hash.substring(0, 16)); //$NON-NLS-1$
+					if(getInstall(entry) == null) {
+						deleteDirectory(entry);
+						Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+					}
+					install = getInstall(entry);
+					touch(install);
+					collectGarbage();
+					return install;
+				} finally {
+					zip.delete();
+					deleteDirectory(temp);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the latest version available from a server, requesting it only if the version remembered for the server
+	 * is older than the time to live. Only versions the server actually provided are remembered.
+	 *
+	 * @param server The URL of the server, or null or empty for the default server.
+	 * @param lookup Requests the version from the server.
+	 * @return The version, or null if the server did not provide one.
+	 * @throws IOException If an error occurs.
+	 */
+	public String getServerVersion(String server, IVersionLookup lookup) throws IOException {
+		long ttl = Long.getLong(VERSION_CHECK_TTL, DEFAULT_VERSION_CHECK_TTL) * 1000;
+		if(ttl <= 0 || System.getenv(DOWNLOAD_VERSION) != null)
+			return lookup.getVersion();
+
+		String key = (server == null ? "" : server) + "|" + SystemUtil.getOS(); //$NON-NLS-1$ //$NON-NLS-2$
+		File file = new File(m_cacheDir, SERVER_VERSIONS);
+		Properties versions = new Properties();
+		if(file.isFile()) {
+			try (InputStream in = new FileInputStream(file)) {
+				versions.load(in);
+			} catch (IOException | IllegalArgumentException e) {
+				versions.clear();
+			}
+		}
+
+		String entry = versions.getProperty(key);
+		if(entry != null) {
+			int index = entry.indexOf(',');
+			try {
+				if(index > 0 && System.currentTimeMillis() - Long.parseLong(entry.substring(0, index)) < ttl)
+					return entry.substring(index + 1);
+			} catch (NumberFormatException e) {
+				// Request the version again.
+			}
+		}
+
+		String version = lookup.getVersion();
+		if(version != null && !version.trim().isEmpty() && !UNKNOWN_VERSION.equals(version)) {
+			versions.setProperty(key, System.currentTimeMillis() + "," + version); //$NON-NLS-1$
+			saveServerVersions(versions, file);
+		}
+		return version;
+	}
+
+	/**
+	 * Reads the version of an install.
+	 *
+	 * @param install The install directory.
+	 * @return The version, or null if it cannot be read.
+	 */
+	public static String getVersion(File install) {
+		String path = install.getAbsolutePath();
+		String version = s_versions.get(path);
+		if(version != null)
+			return version;
+
+		try (BufferedReader reader = new BufferedReader(new FileReader(new File(install, VERSION_INFO)))) {
+			version = reader.readLine(); //The version is the first line of the version.info file.
+		} catch (IOException e) {
+			return null;
+		}
+		if(version != null)
+			s_versions.put(path, version);
+		return version;
+	}
+
+	/*
+	 * Replaces the file in a single rename, so other processes never read a partial file.
+	 */
+	private void saveServerVersions(Properties versions, File file) {
+		m_cacheDir.mkdirs();
+		File temp = new File(m_cacheDir, TEMP_PREFIX + UUID.randomUUID());
+		try {
+			try (OutputStream out = new FileOutputStream(temp)) {
+				versions.store(out, null);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			temp.delete();
+		}
+	}
+
+	/*
+	 * Deletes the least recently used installs, unless they were used within the grace period. Only called while
+	 * holding the lock.
+	 */
+	private void collectGarbage() {
+		List<File> entries = getEntries();
+		entries.sort((a, b) -> Long.compare(getLastUsed(b), getLastUsed(a)));
+		int size = Math.max(1, Integer.getInteger(CACHE_SIZE, DEFAULT_CACHE_SIZE));
+		long unusedSince = System.currentTimeMillis() - Long.getLong(GRACE_PERIOD, DEFAULT_GRACE_PERIOD) * 1000;
+		for(int i = size; i < entries.size(); i++) {
+			if(getLastUsed(entries.get(i)) < unusedSince)
+				deleteDirectory(entries.get(i));
+		}
+	}
+
+	/*
+	 * Deletes files left by processes that stopped while installing. Only called while holding the lock.
+	 */
+	private void deleteTempFiles() {
+		File[] files = m_cacheDir.listFiles((dir, name) -> name.startsWith(TEMP_PREFIX));
+		if(files != null) {
+			for(File file : files)
+				deleteDirectory(file);
+		}
+	}
+
+	/*
+	 * Deletes installs and packages left directly in the install directory by versions of the SDK that predate the
+	 * cache. Only called while holding the lock.
+	 */
+	private void deleteLegacyInstalls() {
+		File[] files = m_cacheDir.getParentFile().listFiles((dir, name) -> name.startsWith(SACLIENT));
+		if(files != null) {
+			for(File file : files)
+				deleteDirectory(file);
+		}
+	}
+
+	private List<File> getEntries() {
+		List<File> entries = new ArrayList<File>();
+		File[] files = m_cacheDir.listFiles((dir, name) -> !name.startsWith(".")); //$NON-NLS-1$
+		if(files != null) {
+			for(File file : files) {
+				if(file.isDirectory())
+					entries.add(file);
+			}
+		}
+		return entries;
+	}
+
+	/*
+	 * Gets the SAClientUtil directory of a cache entry, if it is a complete install.
+	 */
+	private static File getInstall(File entry) {
+		File[] files = entry.listFiles((dir, name) -> name.startsWith(SACLIENT) && new File(dir, name).isDirectory());
+		if(files == null || files.length != 1 || !new File(files[0], VERSION_INFO).isFile())
+			return null;
+		return files[0];
+	}
+
+	private static long getLastUsed(File entry) {
+		File lastUsed = new File(entry, LAST_USED);
+		return lastUsed.isFile() ? lastUsed.lastModified() : entry.lastModified();
+	}
+
+	private static void deleteDirectory(File directory) {
+		File[] files = directory.listFiles();
+		if(files != null && !Files.isSymbolicLink(directory.toPath())) {
+			for(File file : files)
+				deleteDirectory(file);
+		}
+		directory.delete();
+	}
+
+	private static String hash(File file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = new FileInputStream(file)) {
+			int read;
+			while((read = in.read(buffer)) != -1)
+				digest.update(buffer, 0, read);
+		}
+		byte[] bytes = digest.digest();
+		char[] chars = new char[bytes.length * 2];
+		for(int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+			chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+		}
+		return new String(chars);
+	}
+}
@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2024. 
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -67,12 +67,14 @@ public interface SASTConstants {
 	String DOWNLOADING_CLIENT			= "message.downloading.client";		//$NON-NLS-1$
 	String EXTRACTING_CLIENT			= "message.extracting.client";		//$NON-NLS-1$
 	String PREPARING_IRX				= "message.preparing.irx";			//$NON-NLS-1$
+	String IRX_REUSED					= "message.irx.reused";				//$NON-NLS-1$
 	String SACLIENT_OUTDATED			= "message.saclient.old";			//$NON-NLS-1$
 	String SERVER_UNAVAILABLE			= "message.server.unavailable";		//$NON-NLS-1$
 	
 	//Errors
 	String IRX_MISSING					= "error.irx.missing";				//$NON-NLS-1$
 	String ERROR_CHECKING_SACLIENT_VER 	= "error.checking.local.version";	//$NON-NLS-1$
+	String ERROR_INVALID_CLIENT_PACKAGE	= "error.invalid.client.package";	//$NON-NLS-1$
 	String ERROR_DOWNLOADING_CLIENT 	= "error.download.client";			//$NON-NLS-1$
 	String ERROR_GENERATING_IRX			= "error.generating.irx";			//$NON-NLS-1$
     String ERROR_GENERATING_ZIP         = "error.generating.zip";           //$NON-NLS-1$
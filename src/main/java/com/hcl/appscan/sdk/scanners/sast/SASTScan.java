@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2024.
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -17,6 +17,7 @@ import com.hcl.appscan.sdk.error.InvalidTargetException;
 import com.hcl.appscan.sdk.error.ScannerException;
 import com.hcl.appscan.sdk.logging.DefaultProgress;
 import com.hcl.appscan.sdk.logging.IProgress;
+import com.hcl.appscan.sdk.scan.CloudScanServiceProvider;
 import com.hcl.appscan.sdk.scan.IScanServiceProvider;
 import com.hcl.appscan.sdk.scanners.ASoCScan;
 import com.hcl.appscan.sdk.utils.ArchiveUtil;
@@ -31,6 +32,7 @@ public class SASTScan extends ASoCScan implements SASTConstants {
 	private static final String REPORT_FORMAT = "html"; //$NON-NLS-1$
 	
 	private File m_irx;
+	private File m_folderToStream;
 	
 	public SASTScan(Map<String, String> properties, IScanServiceProvider provider) {
 		super(properties, new DefaultProgress(), provider);
@@ -87,9 +89,9 @@ public class SASTScan extends ASoCScan implements SASTConstants {
 
 		//Create and run the process
 		Proxy proxy = getServiceProvider() == null ? Proxy.NO_PROXY : getServiceProvider().getAuthenticationProvider().getProxy();		
-		new SAClient(getProgress(), proxy).run(targetDir, getProperties());
 		String irxDir = getProperties().containsKey(SAVE_LOCATION) ? getProperties().get(SAVE_LOCATION) : targetDir;
 		m_irx = new File(irxDir, FileUtil.getValidFilename(getName()) + IRX_EXTENSION);
+		IrxCache.prepare(new SAClient(getProgress(), proxy), new File(targetDir), getProperties(), m_irx, getProgress());
 		if(!m_irx.isFile())
 			throw new ScannerException(Messages.getMessage(ERROR_GENERATING_IRX, getScanLogs().getAbsolutePath()));
 	}
@@ -99,6 +101,11 @@ public class SASTScan extends ASoCScan implements SASTConstants {
         if(targetFile.isFile()){
             m_irx = targetFile;
         } else if (targetFile.isDirectory()) {
+            if(isStreamingUpload()) {
+                // The archive is created while it is uploaded by analyzeIR().
+                m_folderToStream = targetFile;
+                return;
+            }
             String validatedZipName = FileUtil.getValidFilename(getName());
             String zipLocation = System.getProperty("java.io.tmpdir")+File.separator+validatedZipName+ZIP_EXTENSION;
             ArchiveUtil.zipFileOrFolder(targetFile, new File(zipLocation));
@@ -112,9 +119,17 @@ public class SASTScan extends ASoCScan implements SASTConstants {
 		if(getProperties().containsKey(PREPARE_ONLY))
 			return;
 
-		String fileId = getServiceProvider().submitFile(m_irx);
+		String fileId;
+		String fileName;
+		if(m_folderToStream != null) {
+			fileName = FileUtil.getValidFilename(getName()) + ZIP_EXTENSION;
+			fileId = ((CloudScanServiceProvider) getServiceProvider()).submitFolder(m_folderToStream, fileName);
+		} else {
+			fileName = m_irx.getName();
+			fileId = getServiceProvider().submitFile(m_irx);
+		}
 		if(fileId == null)
-			throw new ScannerException(Messages.getMessage(ERROR_FILE_UPLOAD, m_irx.getName()));		
+			throw new ScannerException(Messages.getMessage(ERROR_FILE_UPLOAD, fileName));		
 				
 		Map<String, String> params = getProperties();
                 
@@ -132,6 +147,15 @@ public class SASTScan extends ASoCScan implements SASTConstants {
                 }
 	}
         
+	/*
+	 * Folders are zipped while they are uploaded when the streamingUpload system property is set, unless the archive
+	 * is only being prepared or the service cannot accept a streamed upload.
+	 */
+	private boolean isStreamingUpload() {
+		return Boolean.getBoolean(CoreConstants.STREAMING_UPLOAD) && !getProperties().containsKey(PREPARE_ONLY)
+				&& getServiceProvider() instanceof CloudScanServiceProvider;
+	}
+        
     	protected void submitScan() {
         	setScanId(getServiceProvider().createAndExecuteScan(STATIC_ANALYZER, getProperties()));
     	}
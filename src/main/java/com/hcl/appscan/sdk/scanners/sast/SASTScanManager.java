@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2024. 
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -8,9 +8,15 @@ package com.hcl.appscan.sdk.scanners.sast;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
 
 import javax.xml.transform.TransformerException;
 
@@ -24,9 +30,13 @@ import com.hcl.appscan.sdk.scan.IScanManager;
 import com.hcl.appscan.sdk.scan.IScanServiceProvider;
 import com.hcl.appscan.sdk.scan.ITarget;
 import com.hcl.appscan.sdk.scanners.sast.targets.ISASTTarget;
+import com.hcl.appscan.sdk.scanners.sast.xml.IModelXMLConstants;
 import com.hcl.appscan.sdk.scanners.sast.xml.ModelWriter;
 import com.hcl.appscan.sdk.scanners.sast.xml.XmlWriter;
 import com.hcl.appscan.sdk.scanners.sca.SCAScan;
+import com.hcl.appscan.sdk.utils.ArchiveUtil;
+import com.hcl.appscan.sdk.utils.FileUtil;
+import com.hcl.appscan.sdk.utils.FileWalker;
 import com.hcl.appscan.sdk.utils.ServiceUtil;
 import com.hcl.appscan.sdk.utils.SystemUtil;
 
@@ -98,6 +108,8 @@ public class SASTScanManager implements IScanManager{
 	private void run(IProgress progress,Map<String, String> properties, IScanServiceProvider provider) throws AppScanException {
 		try {
 			createScan(properties, progress, provider);
+			if(shouldFilterUpload(properties))
+				m_scan.setTarget(zipTargets().getAbsolutePath());
 			m_scan.run();
 		} catch (InvalidTargetException | ScannerException e) {
 			throw new AppScanException(e.getLocalizedMessage());
@@ -169,16 +181,98 @@ public class SASTScanManager implements IScanManager{
 	public void createConfig(boolean useRelativeTargetPaths) throws AppScanException  {
 		if(m_targets.isEmpty())
 			return;
+		createConfig(m_targets, new File(m_workingDirectory), useRelativeTargetPaths);
+	}
+	
+	/**
+	 * Checks if {@link #prepare(IProgress, Map)} would reuse an .irx file from the {@link IrxCache} instead of running
+	 * SAClientUtil, because the targets were already prepared with the same configuration, client version and
+	 * properties. The configuration file is written first, if it changed. This is always false unless the
+	 * {@value CoreConstants#IRX_CACHE} system property names the cache directory.
+	 * @param properties - The properties that would be passed to {@link #prepare(IProgress, Map)}.
+	 * @return True if a cached .irx file would be reused.
+	 * @throws AppScanException If an error occurs.
+	 */
+	public boolean canReuseIrx(Map<String, String> properties) throws AppScanException {
+		if(properties.containsKey(CoreConstants.UPLOAD_DIRECT))
+			return false;
+		
+		createConfig();
+		Map<String, String> prepareProperties = new HashMap<String, String>(properties);
+		prepareProperties.put(CoreConstants.TARGET, m_workingDirectory);
+		prepareProperties.put(SASTConstants.PREPARE_ONLY, Boolean.toString(true));
+		try {
+			return IrxCache.isCached(new SAClient(), new File(m_workingDirectory), prepareProperties);
+		} catch (IOException | ScannerException e) {
+			throw new AppScanException(e.getLocalizedMessage(), e);
+		}
+	}
+	
+	private void createConfig(List<ISASTTarget> targets, File directory, boolean useRelativeTargetPaths) throws AppScanException  {
 		try {
 			ModelWriter writer = new XmlWriter(useRelativeTargetPaths);
-			writer.initWriters(new File(m_workingDirectory));		
-			writer.visit(m_targets, m_isThirdPartyScanningEnabled, m_isOpenSourceOnlyEnabled, m_isSourceCodeOnlyEnabled, m_isStaticAnalysisOnlyEnabled, m_isSecretsScanningDisabled, m_isSecretsScanningEnabled, m_isSecretsScanningOnlyEnabled);
+			writer.initWriters(directory);		
+			writer.visit(targets, m_isThirdPartyScanningEnabled, m_isOpenSourceOnlyEnabled, m_isSourceCodeOnlyEnabled, m_isStaticAnalysisOnlyEnabled, m_isSecretsScanningDisabled, m_isSecretsScanningEnabled, m_isSecretsScanningOnlyEnabled);
 			writer.write();
 		} catch (IOException | TransformerException  e) {
 			throw new AppScanException(e.getLocalizedMessage(), e);
 		}
 	}
 	
+	/*
+	 * A direct upload normally zips the whole working directory. When a target has inclusion or exclusion patterns,
+	 * only the files of the targets that match their patterns are zipped instead, if the filterUpload system
+	 * property is set. The patterns are then matched by FileWalker rather than SAClientUtil, so this is opt-in.
+	 */
+	private boolean shouldFilterUpload(Map<String, String> properties) {
+		if(!Boolean.getBoolean(CoreConstants.FILTER_UPLOAD) || !properties.containsKey(CoreConstants.UPLOAD_DIRECT)
+				|| m_scan instanceof SCAScan || m_scan instanceof SAST_SCA_Scan || !m_workingDirectory.equals(properties.get(CoreConstants.TARGET)))
+			return false;
+		for(ISASTTarget target : m_targets) {
+			if(!target.getInclusionPatterns().isEmpty() || !target.getExclusionPatterns().isEmpty())
+				return true;
+		}
+		return false;
+	}
+	
+	/*
+	 * Zips the files of each target that match its patterns. Entries are named as if the working directory was
+	 * zipped, except for targets outside of it, which are named after the target and given a suffix if that name
+	 * is already used. The working directory's configuration file is added so the server sees the same targets.
+	 */
+	private File zipTargets() throws AppScanException {
+		Path workingDir = new File(m_workingDirectory).getAbsoluteFile().toPath();
+		String workingDirName = workingDir.getFileName().toString();
+		Map<String, File> entries = new TreeMap<String, File>();
+		Set<String> names = new HashSet<String>();
+		try {
+			for(ISASTTarget target : m_targets) {
+				File file = (target.getTargetFile() == null ? new File(target.getTarget()) : target.getTargetFile()).getAbsoluteFile();
+				String name = file.getName();
+				if(file.toPath().startsWith(workingDir)) {
+					name = workingDirName;
+					for(Path part : workingDir.relativize(file.toPath()))
+						name += part.toString().isEmpty() ? "" : "/" + part; //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				else {
+					String base = name;
+					for(int i = 1; names.contains(name) || name.equals(workingDirName); i++)
+						name = base + "_" + i; //$NON-NLS-1$
+				}
+				names.add(name);
+				entries.putAll(new FileWalker(target.getInclusionPatterns(), target.getExclusionPatterns()).walk(file, name));
+			}
+			File config = new File(workingDir.toFile(), IModelXMLConstants.APPSCAN_CONFIG + IModelXMLConstants.DOT_XML);
+			if(config.isFile())
+				entries.put(workingDirName + "/" + config.getName(), config); //$NON-NLS-1$
+			File zip = new File(System.getProperty("java.io.tmpdir"), FileUtil.getValidFilename(m_scan.getName()) + SASTConstants.ZIP_EXTENSION); //$NON-NLS-1$
+			ArchiveUtil.zipFiles(entries, zip, Integer.getInteger(ArchiveUtil.COMPRESSION_LEVEL, Deflater.DEFAULT_COMPRESSION), true);
+			return zip;
+		} catch (IOException e) {
+			throw new AppScanException(e.getLocalizedMessage(), e);
+		}
+	}
+	
 	private String getDefaultScanName() {
 		return new File(m_workingDirectory).getName() + SystemUtil.getTimeStamp();
 	}
@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017. 
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -31,7 +31,7 @@ import com.hcl.appscan.sdk.Messages;
 /**
  * Helper class for constructing and writing a DOM document.
  */
-public final class DOMWriter {
+public final class DOMWriter implements IElementWriter {
 
 	private File m_file;
 	private DocumentBuilder m_builder;
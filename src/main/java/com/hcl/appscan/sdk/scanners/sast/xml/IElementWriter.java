@@ -0,0 +1,39 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scanners.sast.xml;
+
+/**
+ * Builds an XML document one element at a time.
+ */
+public interface IElementWriter {
+
+	/**
+	 * Begin a new element.
+	 * 
+	 * @param name The name of the element.
+	 */
+	void beginElement(String name);
+
+	/**
+	 * Create an attribute for the current element. Attributes with names that are not valid XML names are ignored.
+	 * 
+	 * @param name The attribute name.
+	 * @param value The attribute value.
+	 */
+	void setAttribute(String name, String value);
+
+	/**
+	 * Close off the current element.
+	 */
+	void endElement();
+
+	/**
+	 * Write some text data and close off the element.
+	 * 
+	 * @param data The text.
+	 */
+	void endElement(String data);
+}
@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2022. 
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -38,7 +38,8 @@ public abstract class ModelWriter {
 	protected Transformer m_transformer;
 
 	/**
-	 * Initializes this model writer.
+	 * Initializes this model writer. The document builder and transformer are its own, but come from factories that
+	 * are shared with other writers of the same class on the current thread.
 	 * 
 	 * @param directory The directory where the scan is stored.
 	 * @throws ParserConfigurationException If a problem occurs initializing the document builder
@@ -48,12 +49,15 @@ public abstract class ModelWriter {
 	public final void initialize(File directory) 
 			throws ParserConfigurationException , TransformerConfigurationException, IOException {
 
-		initDocumentBuilder();
-		initTransformer();
+		XmlFactories factories = XmlFactories.get(this);
+		m_builder = factories.newDocumentBuilder();
+		m_transformer = factories.newTransformer();
+		configureTransformer();
 		//initWriters(directory);
 	}
 	/**
 	 * Subclasses can override this to configure the document builder factory.
+	 * It is called once per thread for each subclass, as factories are cached.
 	 * The default implementation does nothing.
 	 * 
 	 * @param factory The document builder factory.
@@ -65,6 +69,7 @@ public abstract class ModelWriter {
 
 	/**
 	 * Subclasses can override this to configure the transformer factory.
+	 * It is called once per thread for each subclass, as factories are cached.
 	 * The default implementation does nothing.
 	 * 
 	 * @param factory The transformer factory.
@@ -82,26 +87,6 @@ public abstract class ModelWriter {
 		m_transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");	//$NON-NLS-1$ //$NON-NLS-2$
 	}
 
-	/*
-	 * Initializes the transformer.
-	 */
-	private void initTransformer() throws TransformerConfigurationException {
-		TransformerFactory factory = TransformerFactory.newInstance();
-		configureTransformerFactory(factory);
-		m_transformer = factory.newTransformer();
-		configureTransformer();
-	}
-
-	/*
-	 * Initializes the document builder.
-	 */
-	private void initDocumentBuilder() throws ParserConfigurationException {
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		configureDocumentBuilderFactory(factory);
-		m_builder = factory.newDocumentBuilder();
-	}
-
-
 	/**
 	 * Initializes the internal writers typically there is one writer for each fragment of the 
 	 * scan model to write.
@@ -0,0 +1,187 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scanners.sast.xml;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerException;
+
+import com.hcl.appscan.sdk.Messages;
+
+/**
+ * Helper class for writing an XML document as it is built, with an {@link XMLStreamWriter}. Unlike {@link DOMWriter}
+ * the document is never held in memory: only the attributes of the current element are kept until its first child,
+ * so it can be written as an empty element if it has none. The output is indented like that of {@link DOMWriter}.
+ */
+public final class StAXWriter implements IElementWriter {
+
+	private static final String ENCODING = "UTF-8"; //$NON-NLS-1$
+	private static final String INDENT = "  "; //$NON-NLS-1$
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final String NAME_START = ":A-Z_a-z\\u00C0-\\u00D6\\u00D8-\\u00F6\\u00F8-\\u02FF\\u0370-\\u037D\\u037F-\\u1FFF\\u200C-\\u200D\\u2070-\\u218F\\u2C00-\\u2FEF\\u3001-\\uD7FF\\uF900-\\uFDCF\\uFDF0-\\uFFFD"; //$NON-NLS-1$
+	private static final Pattern NAME = Pattern.compile("[" + NAME_START + "][" + NAME_START + "\\-.0-9\\u00B7\\u0300-\\u036F\\u203F-\\u2040]*"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private final Writer m_stream;
+	private final boolean m_closeStream;
+	private final XMLStreamWriter m_writer;
+	private String m_pending;
+	private final List<String[]> m_attributes = new ArrayList<String[]>();
+	private final List<String> m_indents = new ArrayList<String>();
+	private int m_depth;
+	private boolean m_hasChildren;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param directory Directory to contain the written file.
+	 * @param file The name of the file to write.
+	 * @throws IOException If the file already exists and could not be deleted, or could not be created.
+	 */
+	public StAXWriter(File directory, String file) throws IOException {
+		this(open(new File(directory, file)), true);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param stream The OutputStream to write to. It is not closed by {@link #write()}.
+	 * @throws IOException If the writer could not be created.
+	 */
+	public StAXWriter(OutputStream stream) throws IOException {
+		this(stream, false);
+	}
+
+	private StAXWriter(OutputStream stream, boolean closeStream) throws IOException {
+		m_stream = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+		m_closeStream = closeStream;
+		try {
+			m_writer = XmlFactories.getOutputFactory().createXMLStreamWriter(m_stream);
+			m_writer.writeStartDocument(ENCODING, "1.0"); //$NON-NLS-1$
+		} catch (XMLStreamException e) {
+			if(closeStream)
+				stream.close();
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public void beginElement(String name) {
+		try {
+			flushPending();
+			newLine(m_depth);
+			m_hasChildren = true;
+			m_pending = name;
+			m_depth++;
+		} catch (XMLStreamException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void setAttribute(String name, String value) {
+		if(m_pending == null)
+			throw new IllegalStateException(Messages.getMessage("error.dom.state")); //$NON-NLS-1$
+		if(name != null && NAME.matcher(name).matches())
+			m_attributes.add(new String[] {name, value});
+	}
+
+	@Override
+	public void endElement() {
+		endElement(null);
+	}
+
+	@Override
+	public void endElement(String data) {
+		try {
+			m_depth--;
+			if(m_pending != null && data == null) {
+				m_writer.writeEmptyElement(m_pending);
+				writeAttributes();
+				m_pending = null;
+			}
+			else {
+				boolean hasChildren = m_pending == null && m_hasChildren;
+				flushPending();
+				if(data != null) {
+					if(hasChildren)
+						throw new IllegalStateException(Messages.getMessage("error.dom.state")); //$NON-NLS-1$
+					m_writer.writeCharacters(data);
+				}
+				else if(hasChildren) {
+					newLine(m_depth);
+				}
+				m_writer.writeEndElement();
+			}
+			m_hasChildren = true;
+		} catch (XMLStreamException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Closes any elements that are still open, finishes the document and closes the file.
+	 *
+	 * @throws TransformerException If an error occurs during the write operation.
+	 */
+	public void write() throws TransformerException {
+		// A failure to close the file is reported too, unless an earlier error already is.
+		try (Writer closed = m_closeStream ? m_stream : null) {
+			while(m_depth > 0)
+				endElement();
+			m_writer.writeEndDocument();
+			m_writer.writeCharacters(System.lineSeparator());
+			m_writer.flush();
+			m_writer.close();
+			m_stream.flush();
+		} catch (XMLStreamException | IOException | IllegalStateException e) {
+			throw new TransformerException(e);
+		}
+	}
+
+	/*
+	 * Writes the start tag of the current element, now that it is known to have content.
+	 */
+	private void flushPending() throws XMLStreamException {
+		if(m_pending != null) {
+			m_writer.writeStartElement(m_pending);
+			writeAttributes();
+			m_pending = null;
+			m_hasChildren = false;
+		}
+	}
+
+	private void writeAttributes() throws XMLStreamException {
+		for(String[] attribute : m_attributes)
+			m_writer.writeAttribute(attribute[0], attribute[1] == null ? "" : attribute[1]); //$NON-NLS-1$
+		m_attributes.clear();
+	}
+
+	private void newLine(int depth) throws XMLStreamException {
+		while(m_indents.size() <= depth)
+			m_indents.add(m_indents.isEmpty() ? System.lineSeparator() : m_indents.get(m_indents.size() - 1) + INDENT);
+		m_writer.writeCharacters(m_indents.get(depth));
+	}
+
+	private static OutputStream open(File file) throws IOException {
+		if(file.exists() && !file.delete())
+			throw new IOException(Messages.getMessage("error.delete", file)); //$NON-NLS-1$
+		file.getParentFile().mkdirs();
+		return new FileOutputStream(file);
+	}
+}
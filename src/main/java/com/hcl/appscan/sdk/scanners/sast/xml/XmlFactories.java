@@ -0,0 +1,80 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.scanners.sast.xml;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+
+/**
+ * Caches the JAXP factories used by model writers, so they are looked up and configured once per thread instead of
+ * once per writer. Factories are not thread safe, so each thread has its own, and each {@link ModelWriter} class has
+ * its own since it can configure its factories. Each writer gets a new document builder and transformer from them,
+ * since writers of the same class may be in use at the same time on one thread.
+ */
+final class XmlFactories {
+
+	private static final ClassValue<ThreadLocal<XmlFactories>> s_cache = new ClassValue<ThreadLocal<XmlFactories>>() {
+		@Override
+		protected ThreadLocal<XmlFactories> computeValue(Class<?> type) {
+			return new ThreadLocal<XmlFactories>();
+		}
+	};
+	private static final ThreadLocal<XMLOutputFactory> s_outputFactory = new ThreadLocal<XMLOutputFactory>();
+
+	private final DocumentBuilderFactory m_builderFactory;
+	private final TransformerFactory m_transformerFactory;
+
+	private XmlFactories(ModelWriter writer) {
+		m_builderFactory = DocumentBuilderFactory.newInstance();
+		writer.configureDocumentBuilderFactory(m_builderFactory);
+
+		m_transformerFactory = TransformerFactory.newInstance();
+		writer.configureTransformerFactory(m_transformerFactory);
+	}
+
+	/**
+	 * Gets the cached factories for the class of a writer on the current thread.
+	 *
+	 * @param writer The writer. Its factories are configured by the first writer of its class on each thread.
+	 * @return The cached factories.
+	 */
+	static XmlFactories get(ModelWriter writer) {
+		ThreadLocal<XmlFactories> cache = s_cache.get(writer.getClass());
+		XmlFactories factories = cache.get();
+		if(factories == null) {
+			factories = new XmlFactories(writer);
+			cache.set(factories);
+		}
+		return factories;
+	}
+
+	/**
+	 * Gets the XML output factory of the current thread.
+	 *
+	 * @return The XML output factory.
+	 */
+	static XMLOutputFactory getOutputFactory() {
+		XMLOutputFactory factory = s_outputFactory.get();
+		if(factory == null) {
+			factory = XMLOutputFactory.newInstance();
+			s_outputFactory.set(factory);
+		}
+		return factory;
+	}
+
+	DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+		return m_builderFactory.newDocumentBuilder();
+	}
+
+	Transformer newTransformer() throws TransformerConfigurationException {
+		return m_transformerFactory.newTransformer();
+	}
+}
@@ -1,6 +1,6 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017, 2022.
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
@@ -8,8 +8,10 @@ package com.hcl.appscan.sdk.scanners.sast.xml;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Map.Entry;
 
@@ -18,28 +20,56 @@ import javax.xml.transform.OutputKeys;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 
+import org.apache.commons.io.FileUtils;
+
+import com.hcl.appscan.sdk.CoreConstants;
 import com.hcl.appscan.sdk.scanners.sast.targets.ISASTTarget;
 
+/**
+ * Writes the appscan-config.xml file. By default the file is built as a DOM document with a {@link DOMWriter}. Set the
+ * {@value CoreConstants#STREAMING_CONFIG} system property to true to stream it to disk with a {@link StAXWriter} as it
+ * is visited instead, so memory use does not grow with the number of targets.
+ *
+ * The file is written next to the existing one first, and only replaces it if the content differs, so an unchanged
+ * configuration keeps its modification time.
+ */
 public class XmlWriter extends ModelWriter
 implements	IModelXMLConstants
 {
 
-	private DOMWriter m_config;
+	private IElementWriter m_config;
 	private String m_configOutputDirectory = null;
 	private String m_configFileName = APPSCAN_CONFIG + DOT_XML;
 	private boolean m_useRelativePaths;
+	private boolean m_streaming;
+	private boolean m_changed;
 
 	public XmlWriter() {
 		this(false);
 	}
 
 	public XmlWriter(boolean relativeTargetPaths) {
+		this(relativeTargetPaths, Boolean.getBoolean(CoreConstants.STREAMING_CONFIG));
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param relativeTargetPaths True to write target paths relative to the configuration file.
+	 * @param streaming True to stream the file with a {@link StAXWriter}, false to build it with a {@link DOMWriter}.
+	 */
+	public XmlWriter(boolean relativeTargetPaths, boolean streaming) {
 		m_useRelativePaths = relativeTargetPaths;
+		m_streaming = streaming;
 	}
 
 	@Override
 	public void initWriters(File directory) throws IOException {
 		m_configOutputDirectory = directory.getCanonicalPath();
+		if(m_streaming) {
+			m_config = new StAXWriter(directory, getTempFileName());
+			return;
+		}
 		try {
 			initialize(directory);
 		} catch (TransformerConfigurationException e) {
@@ -47,7 +77,7 @@ implements	IModelXMLConstants
 		} catch (ParserConfigurationException e) {
 			e.printStackTrace();
 		}
-		m_config = new DOMWriter(directory, m_configFileName, m_builder);
+		m_config = new DOMWriter(directory, getTempFileName(), m_builder);
 	}
 
 	@Override
@@ -120,8 +150,33 @@ implements	IModelXMLConstants
 
 	@Override
 	public void write() throws TransformerException {
-		m_transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no"); //$NON-NLS-1$
-		m_config.write(m_transformer);
+		if(m_streaming) {
+			((StAXWriter) m_config).write();
+		}
+		else {
+			m_transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no"); //$NON-NLS-1$
+			((DOMWriter) m_config).write(m_transformer);
+		}
+
+		File temp = new File(m_configOutputDirectory, getTempFileName());
+		File config = new File(getOutputLocation());
+		try {
+			m_changed = !FileUtils.contentEquals(temp, config);
+			if(m_changed)
+				Files.move(temp.toPath(), config.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new TransformerException(e);
+		} finally {
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Checks if the last {@link #write()} changed the configuration file.
+	 * @return True if the file was created or its content changed, false if it was left as it was.
+	 */
+	public boolean isChanged() {
+		return m_changed;
 	}
 
 
@@ -134,6 +189,10 @@ implements	IModelXMLConstants
 		return m_configOutputDirectory+File.separator+m_configFileName;
 	}
 
+	private String getTempFileName() {
+		return "." + m_configFileName + ".tmp"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	private String getTargetPath(ISASTTarget target) {
 		if (target.getTargetFile() == null)
 			return target.getTarget();
@@ -1,27 +1,63 @@
 /**
  * © Copyright IBM Corporation 2016.
- * © Copyright HCL Technologies Ltd. 2017. 
+ * © Copyright HCL Technologies Ltd. 2017, 2026.
  * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
  */
 
 package com.hcl.appscan.sdk.utils;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.compress.archivers.zip.DefaultBackingStoreSupplier;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
 import com.hcl.appscan.sdk.Messages;
 
 public class ArchiveUtil {
 
 	private static final double TOO_BIG = 4e9; // 4GB
-	private static final int BUFFER_SIZE = 4096;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int PIPE_SIZE = 1024 * 1024;
+	private static final Set<String> COMPRESSED_EXTENSIONS = new HashSet<String>(Arrays.asList(
+			"zip", "jar", "war", "ear", "aar", "apk", "ipa", "nupkg", "whl", "gz", "tgz", "bz2", "xz", "7z", "rar", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$ //$NON-NLS-13$ //$NON-NLS-14$ //$NON-NLS-15$
+			"png", "jpg", "jpeg", "gif", "webp", "mp3", "mp4", "woff", "woff2")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+	
+	public static final String COMPRESSION_LEVEL = "zipCompressionLevel"; //$NON-NLS-1$
 	
 	public static int MAX_PATH_LENGTH = 4096;
 
@@ -36,106 +72,345 @@ public class ArchiveUtil {
     }
 	
 	/**
-	 * Unzip an archive.
+	 * Unzip an archive. Entries are read through the central directory and extracted in parallel.
 	 * 
 	 * @param source An input file.
 	 * @param destDir The destination directory to unzip to.
 	 * @throws IOException If an error occurs during the unzip operation.
 	 */
 	public static void unzip(File source, File destDir) throws IOException {
-		
-		FileInputStream input = new FileInputStream(source);
-		ZipInputStream zip = new ZipInputStream(new BufferedInputStream(input));
+		unzip(source, destDir, false);
+	}
+
+	/**
+	 * Unzip an archive, extracting entries in parallel. Directories are created before any file is extracted, and
+	 * permissions are set on all extracted files once extraction is complete. Symbolic links are created last, so no
+	 * file is written through one, and links that resolve outside of the destination are rejected.
+	 * 
+	 * @param source An input file.
+	 * @param destDir The destination directory to unzip to.
+	 * @param symlinks True to create symbolic links for symlink entries, except on Windows where they are skipped.
+	 * False to extract them as regular files.
+	 * @throws IOException If an error occurs during the unzip operation.
+	 */
+	public static void unzip(File source, File destDir, boolean symlinks) throws IOException {
 		destDir.mkdirs();
-		
-		ZipEntry entry = null;
-		long bytesWritten = 0;
-		
-		try {
-			while ((entry = zip.getNextEntry()) != null) {
-				
-				String path = entry.getName();
-				File newFile = new File(destDir, path);
-				
+		Path destPath = destDir.toPath().toAbsolutePath().normalize();
+
+		try (ZipFile zipFile = ZipFile.builder().setFile(source).get()) {
+			List<ZipArchiveEntry> files = new ArrayList<ZipArchiveEntry>();
+			List<ZipArchiveEntry> links = new ArrayList<ZipArchiveEntry>();
+			Set<File> directories = new TreeSet<File>();
+			long declaredSize = 0;
+			for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+				File newFile = getDestination(destPath, entry);
 				if (entry.isDirectory()) {
-					newFile.mkdirs();
+					directories.add(newFile);
+				}
+				else if (symlinks && entry.isUnixSymlink()) {
+					directories.add(newFile.getParentFile());
+					links.add(entry);
 				}
 				else {
-					File parent = newFile.getParentFile();
-					parent.mkdirs();
-					if (parent.isDirectory())
-						bytesWritten += write(zip, newFile);
+					directories.add(newFile.getParentFile());
+					files.add(entry);
+					declaredSize += Math.max(entry.getSize(), 0);
 				}
-				
-				if (bytesWritten >= TOO_BIG)
-					throw new IOException(Messages.getMessage("err.too.big")); //$NON-NLS-1$
-				
-				//Set 755 permissions
-				newFile.setExecutable(true, false);
-				newFile.setReadable(true, false);
-				newFile.setWritable(true);
 			}
+			if (declaredSize >= TOO_BIG)
+				throw new IOException(Messages.getMessage("err.too.big")); //$NON-NLS-1$
+
+			// Parents sort before their children, so each directory is only created once.
+			for (File directory : directories) {
+				if (!directory.isDirectory() && !directory.mkdirs())
+					throw new IOException(Messages.getMessage("err.invalid.path", directory.getPath())); //$NON-NLS-1$
+			}
+
+			// Start with the largest entries so they do not finish last.
+			files.sort((a, b) -> Long.compare(b.getSize(), a.getSize()));
+			AtomicLong bytesWritten = new AtomicLong();
+			int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), files.size()));
+			ExecutorService executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("appscan-unzip-")); //$NON-NLS-1$
+			try {
+				List<Future<File>> futures = new ArrayList<Future<File>>();
+				for (ZipArchiveEntry entry : files)
+					futures.add(executor.submit(() -> extract(zipFile, entry, destPath, bytesWritten)));
+
+				List<File> extracted = new ArrayList<File>(directories);
+				for (Future<File> future : futures)
+					extracted.add(future.get());
+				setPermissions(extracted);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof IOException)
+					throw (IOException) e.getCause();
+				throw new IOException(e.getCause());
+			} finally {
+				executor.shutdownNow();
+			}
+
+			if (!SystemUtil.isWindows())
+				createLinks(zipFile, links, destPath);
 		}
-		finally {
-			if(zip != null)
-				zip.close();
+	}
+
+	/*
+	 * Extracts a file entry and returns the extracted file.
+	 */
+	private static File extract(ZipFile zipFile, ZipArchiveEntry entry, Path destPath, AtomicLong bytesWritten) throws IOException {
+		File newFile = getDestination(destPath, entry);
+		long written;
+		try (InputStream content = zipFile.getInputStream(entry);
+				OutputStream output = Files.newOutputStream(newFile.toPath())) {
+			written = IOUtils.copyLarge(content, output, new byte[BUFFER_SIZE]);
 		}
+		if (bytesWritten.addAndGet(written) >= TOO_BIG)
+			throw new IOException(Messages.getMessage("err.too.big")); //$NON-NLS-1$
+		return newFile;
 	}
-	
-	/**
-	 * Read from the input stream and write to the new file.
-	 * The caller is responsible for closing the input stream when all reads from it are done. 
-	 * 
-	 * @param input The input stream.
-	 * @param file The output file.
-	 * @return The number of bytes written.
-	 * @throws IOException if an error occurs during the write.
+
+	/*
+	 * Creates the symbolic links once all files are extracted. A link can point through another link, so once they all
+	 * exist each one is checked again with the links resolved. If any link is rejected, the links are all deleted.
 	 */
-	private static long write(InputStream input, File file) throws IOException {
-		
-		BufferedOutputStream output = new BufferedOutputStream(new FileOutputStream(file));
-		
-		long bytesWritten = 0;
-		int len = 0;
-		byte[] buffer = new byte[BUFFER_SIZE];
-		
+	private static void createLinks(ZipFile zipFile, List<ZipArchiveEntry> links, Path destPath) throws IOException {
+		List<Path> created = new ArrayList<Path>();
 		try {
-			while ((len = input.read(buffer)) != -1) {
-				output.write(buffer, 0, len);
-				bytesWritten += len;
+			for (ZipArchiveEntry entry : links) {
+				Path link = getDestination(destPath, entry).toPath();
+				String target = zipFile.getUnixSymlink(entry);
+				if (target == null || !link.getParent().resolve(target).normalize().startsWith(destPath))
+					throw new IOException(Messages.getMessage("err.invalid.path", link)); //$NON-NLS-1$
+				Files.createSymbolicLink(link, Paths.get(target));
+				created.add(link);
 			}
-			return bytesWritten;
+
+			Path realDest = destPath.toRealPath();
+			for (Path link : created) {
+				if (!toRealPath(link.getParent().resolve(Files.readSymbolicLink(link))).startsWith(realDest))
+					throw new IOException(Messages.getMessage("err.invalid.path", link)); //$NON-NLS-1$
+			}
+		} catch (IOException e) {
+			for (Path link : created)
+				Files.deleteIfExists(link);
+			throw e;
 		}
-		finally {
-			if(output != null)
-				output.close();
+	}
+
+	/*
+	 * Resolves the links in the longest part of an absolute path that exists. The rest of the path is only normalized.
+	 */
+	private static Path toRealPath(Path path) throws IOException {
+		Path existing = path;
+		Deque<Path> rest = new ArrayDeque<Path>();
+		while (!Files.exists(existing)) {
+			rest.push(existing.getFileName());
+			existing = existing.getParent();
 		}
+		Path real = existing.toRealPath();
+		for (Path name : rest)
+			real = real.resolve(name);
+		return real.normalize();
+	}
+
+	/*
+	 * Resolves the destination of an entry, rejecting entries that would be written outside of the destination.
+	 */
+	private static File getDestination(Path destPath, ZipArchiveEntry entry) throws IOException {
+		Path path = destPath.resolve(entry.getName()).normalize();
+		if (!path.startsWith(destPath))
+			throw new IOException(Messages.getMessage("err.invalid.path", path)); //$NON-NLS-1$
+		return path.toFile();
 	}
 
+	/*
+	 * Set 755 permissions.
+	 */
+	private static void setPermissions(List<File> files) {
+		files.parallelStream().forEach(file -> {
+			file.setExecutable(true, false);
+			file.setReadable(true, false);
+			file.setWritable(true);
+		});
+	}
+	
+	/**
+	 * Zips a file or folder. Entries are compressed in parallel at the compression level given by the
+	 * {@value #COMPRESSION_LEVEL} system property, and files that are already compressed are stored.
+	 * 
+	 * @param fileToZip The file or folder to zip.
+	 * @param zipFile The zip file to create.
+	 * @throws IOException If an error occurs.
+	 */
     public static void zipFileOrFolder(File fileToZip, File zipFile) throws IOException {
-        FileOutputStream fos = new FileOutputStream(zipFile.getAbsolutePath());
-        ZipOutputStream zipOut = new ZipOutputStream(fos);
-        zipFile(fileToZip, fileToZip.getName(), zipOut);
-        zipOut.close();
-        fos.close();
+        zipFileOrFolder(fileToZip, zipFile, Integer.getInteger(COMPRESSION_LEVEL, Deflater.DEFAULT_COMPRESSION), true);
+    }
+
+	/**
+	 * Zips a file or folder, compressing entries in parallel.
+	 * 
+	 * @param fileToZip The file or folder to zip.
+	 * @param zipFile The zip file to create.
+	 * @param compressionLevel The compression level, from 0 to 9, or -1 for the default level.
+	 * @param storeCompressed True to store files that are already compressed, such as .jar or .png files, without
+	 * compressing them again.
+	 * @throws IOException If an error occurs.
+	 */
+    public static void zipFileOrFolder(File fileToZip, File zipFile, int compressionLevel, boolean storeCompressed) throws IOException {
+        zipFiles(new FileWalker().walk(fileToZip, fileToZip.getName()), zipFile, compressionLevel, storeCompressed);
     }
 
-    private static void zipFile(File fileToZip, String fileName, ZipOutputStream zipOut) throws IOException {
-        if (fileToZip.isDirectory()) {
-            File[] children = fileToZip.listFiles();
-            for (File childFile : children) {
-                zipFile(childFile, fileName + "/" + childFile.getName(), zipOut);
+	/**
+	 * Zips a set of files, compressing entries in parallel.
+	 * 
+	 * @param entries The files to zip, keyed by the name of their entry in the archive.
+	 * @param zipFile The zip file to create.
+	 * @param compressionLevel The compression level, from 0 to 9, or -1 for the default level.
+	 * @param storeCompressed True to store files that are already compressed, such as .jar or .png files, without
+	 * compressing them again.
+	 * @throws IOException If an error occurs.
+	 */
+    public static void zipFiles(Map<String, File> entries, File zipFile, int compressionLevel, boolean storeCompressed) throws IOException {
+        ExecutorService executor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        ParallelScatterZipCreator creator = new ParallelScatterZipCreator(executor,
+                new DefaultBackingStoreSupplier(null), compressionLevel);
+        try {
+            for (Map.Entry<String, File> entry : entries.entrySet())
+                addEntry(entry.getValue(), entry.getKey(), creator, storeCompressed);
+            try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(zipFile)) {
+                zipOut.setUseZip64(Zip64Mode.AsNeeded);
+                creator.writeTo(zipOut);
             }
-            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
-        FileInputStream fis = new FileInputStream(fileToZip);
-        ZipEntry zipEntry = new ZipEntry(fileName);
-        zipOut.putNextEntry(zipEntry);
-        byte[] bytes = new byte[1024];
-        int length;
-        while ((length = fis.read(bytes)) >= 0) {
-            zipOut.write(bytes, 0, length);
+    }
+
+    private static void addEntry(File fileToZip, String fileName, ParallelScatterZipCreator creator, boolean storeCompressed) {
+        ZipArchiveEntry zipEntry = new ZipArchiveEntry(fileName);
+        zipEntry.setTime(fileToZip.lastModified());
+        zipEntry.setMethod(storeCompressed && isCompressed(fileName) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+        creator.addArchiveEntry(zipEntry, () -> {
+            try {
+                return new FileInputStream(fileToZip);
+            } catch (FileNotFoundException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+	/**
+	 * Zips a file or folder into a stream. Each entry is written as soon as it is compressed, so the archive can be
+	 * consumed while it is being created. The compression level is given by the {@value #COMPRESSION_LEVEL} system
+	 * property. Files that are already compressed are deflated at level 0 rather than stored, since stored entries
+	 * need their CRC before their content is written.
+	 * 
+	 * @param fileToZip The file or folder to zip.
+	 * @param out The stream to write the archive to. It is closed when the archive is complete.
+	 * @throws IOException If an error occurs.
+	 */
+    public static void zipFileOrFolder(File fileToZip, OutputStream out) throws IOException {
+        int compressionLevel = Integer.getInteger(COMPRESSION_LEVEL, Deflater.DEFAULT_COMPRESSION);
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(out)) {
+            zipOut.setUseZip64(Zip64Mode.AsNeeded);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (Map.Entry<String, File> entry : new FileWalker().walk(fileToZip, fileToZip.getName()).entrySet())
+                writeEntry(entry.getValue(), entry.getKey(), zipOut, compressionLevel, buffer);
         }
-        fis.close();
+    }
+
+	/**
+	 * Zips a file or folder on a background thread. The archive is read from the returned stream while it is being
+	 * created, so no copy of it is written to disk. If creating the archive fails, reading the stream fails with the
+	 * same error. Closing the stream before the end of the archive stops its creation.
+	 * 
+	 * @param fileToZip The file or folder to zip.
+	 * @return A stream of the archive.
+	 * @throws IOException If an error occurs.
+	 */
+    public static InputStream zipFileOrFolderAsStream(final File fileToZip) throws IOException {
+        final ZipPipe pipe = new ZipPipe();
+        final PipedOutputStream out = new PipedOutputStream(pipe);
+        new DaemonThreadFactory("appscan-zip-").newThread(() -> { //$NON-NLS-1$
+            // The pipe is closed only once any error is recorded, so the reader never sees a clean end of a failed archive.
+            try {
+                zipFileOrFolder(fileToZip, CloseShieldOutputStream.wrap(out));
+            } catch (IOException | UncheckedIOException e) {
+                pipe.m_error = e instanceof UncheckedIOException ? ((UncheckedIOException) e).getCause() : (IOException) e;
+            } finally {
+                try {
+                    out.close();
+                } catch (IOException ignore) {
+                    // The reader sees the recorded error.
+                }
+            }
+        }).start();
+        return pipe;
+    }
+
+    private static void writeEntry(File fileToZip, String fileName, ZipArchiveOutputStream zipOut, int compressionLevel,
+            byte[] buffer) throws IOException {
+        // Entries written to a stream are always deflated, since stored entries need their CRC up front.
+        ZipArchiveEntry zipEntry = new ZipArchiveEntry(fileName);
+        zipEntry.setTime(fileToZip.lastModified());
+        zipEntry.setSize(fileToZip.length());
+        zipEntry.setMethod(ZipEntry.DEFLATED);
+        zipOut.setLevel(isCompressed(fileName) ? Deflater.NO_COMPRESSION : compressionLevel);
+        zipOut.putArchiveEntry(zipEntry);
+        try (InputStream input = new FileInputStream(fileToZip)) {
+            int len;
+            while ((len = input.read(buffer)) != -1)
+                zipOut.write(buffer, 0, len);
+        }
+        zipOut.closeArchiveEntry();
+    }
+
+    /*
+     * The reading end of the pipe fails with the error that stopped the creation of the archive, rather than
+     * returning a truncated archive.
+     */
+    private static class ZipPipe extends PipedInputStream {
+        private volatile IOException m_error;
+
+        private ZipPipe() {
+            super(PIPE_SIZE);
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            checkError();
+            int value = super.read();
+            if (value == -1)
+                checkError();
+            return value;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            checkError();
+            int read = super.read(b, off, len);
+            if (read == -1)
+                checkError();
+            return read;
+        }
+
+        private void checkError() throws IOException {
+            if (m_error != null)
+                throw new IOException(m_error.getLocalizedMessage(), m_error);
+        }
+    }
+
+    private static boolean isCompressed(String fileName) {
+        int index = fileName.lastIndexOf('.');
+        return index != -1 && COMPRESSED_EXTENSIONS.contains(fileName.substring(index + 1).toLowerCase());
     }
 }
@@ -0,0 +1,34 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.utils;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon threads, so background work done by the SDK never keeps the JVM alive.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+	private final String m_prefix;
+	private final AtomicInteger m_count = new AtomicInteger();
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param prefix The prefix for thread names. A sequence number is appended.
+	 */
+	public DaemonThreadFactory(String prefix) {
+		m_prefix = prefix;
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, m_prefix + m_count.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+}
@@ -0,0 +1,239 @@
+/**
+ * © Copyright HCL Technologies Ltd. 2026.
+ * LICENSE: Apache License, Version 2.0 https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.hcl.appscan.sdk.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+/**
+ * Lists the files in a folder in parallel, keeping only those that match a target's inclusion and exclusion patterns.
+ *
+ * Each folder is listed by its own fork/join task on a dedicated pool, so large trees are walked on all cores.
+ * Patterns are globs relative to the folder being walked, with / as the separator: * and ? do not match /, **
+ * matches any number of folders and {a,b} matches either alternative. A pattern without a / matches the name of a
+ * file or folder at any depth, and a pattern ending with / matches everything in the folders it names. Folders that
+ * match an exclusion pattern are not listed at all. When there are inclusion patterns, files must match at least one
+ * of them. This is the SDK's own glob dialect, and SAClientUtil may interpret some patterns differently.
+ */
+public class FileWalker {
+
+	private static final String SEPARATOR = "/"; //$NON-NLS-1$
+
+	private static ForkJoinPool s_pool;
+
+	private final List<Matcher> m_inclusions;
+	private final List<Matcher> m_exclusions;
+
+	/**
+	 * Creates a walker that keeps every file.
+	 */
+	public FileWalker() {
+		this(Collections.<String>emptyList(), Collections.<String>emptyList());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param inclusionPatterns The patterns of the files to keep, or an empty collection to keep every file.
+	 * @param exclusionPatterns The patterns of the files and folders to leave out.
+	 */
+	public FileWalker(Collection<String> inclusionPatterns, Collection<String> exclusionPatterns) {
+		m_inclusions = compile(inclusionPatterns);
+		m_exclusions = compile(exclusionPatterns);
+	}
+
+	/**
+	 * Lists the files in a folder.
+	 *
+	 * @param root The file or folder to walk. A file is kept whatever the patterns.
+	 * @param name The name of the root in the result, such as the name of its entry in an archive.
+	 * @return The files, sorted and keyed by their name below the root's name, using / as the separator.
+	 * @throws IOException If a folder could not be listed, or a file or folder in it could not be read.
+	 */
+	public Map<String, File> walk(File root, String name) throws IOException {
+		Map<String, File> files = new ConcurrentHashMap<String, File>();
+		if(root.isDirectory()) {
+			try {
+				getPool().invoke(new WalkTask(root.toPath(), name, "", files)); //$NON-NLS-1$
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+		else if(root.isFile()) {
+			files.put(name, root);
+		}
+		return new TreeMap<String, File>(files);
+	}
+
+	/*
+	 * Listing folders blocks on I/O, so it is done on a pool of its own rather than the common pool.
+	 */
+	private static synchronized ForkJoinPool getPool() {
+		if(s_pool == null) {
+			s_pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("appscan-walk-" + thread.getPoolIndex()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}, null, false);
+		}
+		return s_pool;
+	}
+
+	private boolean isExcluded(String path, String name, boolean directory) {
+		for(Matcher exclusion : m_exclusions) {
+			if(exclusion.matches(path, name) || (directory && exclusion.matches(path + SEPARATOR, name)))
+				return true;
+		}
+		return false;
+	}
+
+	private boolean isIncluded(String path, String name) {
+		if(m_inclusions.isEmpty())
+			return true;
+		for(Matcher inclusion : m_inclusions) {
+			if(inclusion.matches(path, name))
+				return true;
+		}
+		return false;
+	}
+
+	private static List<Matcher> compile(Collection<String> patterns) {
+		List<Matcher> matchers = new ArrayList<Matcher>();
+		if(patterns == null)
+			return matchers;
+		for(String pattern : patterns) {
+			if(pattern == null)
+				continue;
+			String glob = pattern.trim().replace('\\', '/');
+			while(glob.startsWith("./") || glob.startsWith(SEPARATOR)) //$NON-NLS-1$
+				glob = glob.substring(glob.indexOf('/') + 1);
+			if(glob.isEmpty())
+				continue;
+			if(glob.endsWith(SEPARATOR))
+				glob += "**"; //$NON-NLS-1$
+			matchers.add(new Matcher(Pattern.compile(toRegex(glob)), !glob.contains(SEPARATOR)));
+		}
+		return matchers;
+	}
+
+	/*
+	 * Converts a glob to a regular expression.
+	 */
+	private static String toRegex(String glob) {
+		StringBuilder regex = new StringBuilder();
+		boolean inGroup = false;
+		for(int i = 0; i < glob.length(); i++) {
+			char c = glob.charAt(i);
+			switch(c) {
+			case '*':
+				if(glob.startsWith("**/", i)) { //$NON-NLS-1$
+					regex.append("(?:.*/)?"); //$NON-NLS-1$
+					i += 2;
+				}
+				else if(glob.startsWith("**", i)) { //$NON-NLS-1$
+					regex.append(".*"); //$NON-NLS-1$
+					i++;
+				}
+				else {
+					regex.append("[^/]*"); //$NON-NLS-1$
+				}
+				break;
+			case '?':
+				regex.append("[^/]"); //$NON-NLS-1$
+				break;
+			case '{':
+				regex.append("(?:"); //$NON-NLS-1$
+				inGroup = true;
+				break;
+			case '}':
+				regex.append(inGroup ? ")" : "\\}"); //$NON-NLS-1$ //$NON-NLS-2$
+				inGroup = false;
+				break;
+			case ',':
+				regex.append(inGroup ? "|" : ","); //$NON-NLS-1$ //$NON-NLS-2$
+				break;
+			default:
+				if("\\.^$|()+[]".indexOf(c) >= 0) //$NON-NLS-1$
+					regex.append('\\');
+				regex.append(c);
+			}
+		}
+		return regex.toString();
+	}
+
+	private static class Matcher {
+		private final Pattern m_pattern;
+		private final boolean m_nameOnly;
+
+		private Matcher(Pattern pattern, boolean nameOnly) {
+			m_pattern = pattern;
+			m_nameOnly = nameOnly;
+		}
+
+		private boolean matches(String path, String name) {
+			return m_pattern.matcher(m_nameOnly ? name : path).matches();
+		}
+	}
+
+	/*
+	 * Lists one folder, forking a task for each of its subfolders.
+	 */
+	private class WalkTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Path m_directory;
+		private final String m_name;
+		private final String m_path;
+		private final Map<String, File> m_files;
+
+		private WalkTask(Path directory, String name, String path, Map<String, File> files) {
+			m_directory = directory;
+			m_name = name;
+			m_path = path;
+			m_files = files;
+		}
+
+		@Override
+		protected void compute() {
+			List<WalkTask> subtasks = new ArrayList<WalkTask>();
+			try (DirectoryStream<Path> children = Files.newDirectoryStream(m_directory)) {
+				for(Path child : children) {
+					String childName = child.getFileName().toString();
+					String path = m_path.isEmpty() ? childName : m_path + SEPARATOR + childName;
+					// Links are followed, and each child is only looked up once. A child that cannot be read fails the
+					// walk rather than being left out.
+					BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class);
+					if(isExcluded(path, childName, attributes.isDirectory()))
+						continue;
+					if(attributes.isDirectory())
+						subtasks.add(new WalkTask(child, m_name + SEPARATOR + childName, path, m_files));
+					else if(attributes.isRegularFile() && isIncluded(path, childName))
+						m_files.put(m_name + SEPARATOR + childName, child.toFile());
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			invokeAll(subtasks);
+		}
+	}
+}
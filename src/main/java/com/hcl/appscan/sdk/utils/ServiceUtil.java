@@ -24,6 +24,7 @@ import com.hcl.appscan.sdk.CoreConstants;
 import com.hcl.appscan.sdk.auth.IAuthenticationProvider;
 import com.hcl.appscan.sdk.http.HttpClient;
 import com.hcl.appscan.sdk.http.HttpResponse;
+import com.hcl.appscan.sdk.http.RangedDownload;
 
 /**
  * Provides scan service utilities.
@@ -69,7 +70,7 @@ public class ServiceUtil implements CoreConstants {
 			if(!destination.getParentFile().isDirectory())
 				destination.getParentFile().mkdirs();
 			
-			response.getResponseBodyAsFile(destination);
+			new RangedDownload(request_url, null, proxy, acceptInvalidCerts.equals("true")).download(response, destination);
 		}
 		else
 			throw new IOException(response.getResponseBodyAsString());